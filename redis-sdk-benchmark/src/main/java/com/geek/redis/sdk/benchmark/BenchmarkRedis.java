@@ -0,0 +1,124 @@
+package com.geek.redis.sdk.benchmark;
+
+import com.geek.redis.sdk.config.PublisherConfig;
+import com.geek.redis.sdk.config.RedisConfig;
+import com.geek.redis.sdk.service.BatchPublisher;
+import com.geek.redis.sdk.service.Publisher;
+import com.geek.redis.sdk.utils.RedisUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 基准测试使用的 Redis 及最小 Spring 上下文
+ * 默认在随机端口启动内嵌 redis-server(2.8)，离线可用；
+ * 指定 -Dbenchmark.redis.host / -Dbenchmark.redis.port 时改为连接已有的 Redis ，
+ * JMH 会 fork 新进程，需要通过 -jvmArgs 传入。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 16:20
+ * @version: 1.0
+ */
+final class BenchmarkRedis implements AutoCloseable {
+
+    private final RedisServer server;
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkRedis(RedisServer server, ConfigurableApplicationContext context) {
+        this.server = server;
+        this.context = context;
+    }
+
+    /**
+     * 启动 Redis 和 Spring 上下文
+     * @param properties 额外的配置，如 redis.sdk.serializer=BINARY
+     */
+    static BenchmarkRedis start(String... properties) {
+        String host = System.getProperty("benchmark.redis.host");
+        int port;
+        RedisServer server = null;
+        if (host == null) {
+            host = "127.0.0.1";
+            port = freePort();
+            server = RedisServer.builder().port(port).setting("bind 127.0.0.1").setting("save \"\"").build();
+            server.start();
+        } else {
+            port = Integer.getInteger("benchmark.redis.port", 6379);
+        }
+        List<String> props = new ArrayList<>(Arrays.asList(properties));
+        props.add("spring.redis.host=" + host);
+        props.add("spring.redis.port=" + port);
+        props.add("spring.redis.database=" + Integer.getInteger("benchmark.redis.database", 15));
+        props.add("logging.level.root=WARN");
+        try {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                    .web(WebApplicationType.NONE)
+                    .bannerMode(Banner.Mode.OFF)
+                    .logStartupInfo(false)
+                    .properties(props.toArray(new String[0]))
+                    .run();
+            return new BenchmarkRedis(server, context);
+        } catch (RuntimeException e) {
+            if (server != null) {
+                server.stop();
+            }
+            throw e;
+        }
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 只包含 sdk 自身配置和 RedisAutoConfiguration ，不扫描订阅者
+     */
+    @Configuration
+    @ImportAutoConfiguration(RedisAutoConfiguration.class)
+    @Import({RedisConfig.class, PublisherConfig.class})
+    static class BenchmarkConfig {
+
+        @Bean
+        public RedisUtils redisUtils() {
+            return new RedisUtils();
+        }
+
+        @Bean
+        public Publisher publisher(RedisTemplate<String, Object> redisMessageTemplate, ObjectProvider<BatchPublisher> batchPublisher) {
+            return new Publisher(redisMessageTemplate, batchPublisher);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.geek.redis.sdk.benchmark;
+
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.geek.redis.sdk.bean.UserMessage;
+
+import java.util.Arrays;
+
+/**
+ * 基准测试使用的消息体
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 11:35
+ * @version: 1.0
+ */
+final class Payloads {
+
+    static {
+        // FastJson 反序列化带 @type 的消息需要把 bean 包加入白名单
+        ParserConfig.getGlobalInstance().addAccept("com.geek.redis.sdk.bean.");
+    }
+
+    private Payloads() {
+    }
+
+    static UserMessage userMessage(int size) {
+        char[] name = new char[size];
+        Arrays.fill(name, 'u');
+        UserMessage message = new UserMessage();
+        message.setMsgId("msg-0000000001");
+        message.setCreateStamp(System.currentTimeMillis());
+        message.setUserId("10001");
+        message.setUsername(new String(name));
+        message.setPassword("e10adc3949ba59abbe56e057f20f883e");
+        return message;
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.geek.redis.sdk.benchmark;
+
+import com.geek.redis.sdk.bean.UserMessage;
+import com.geek.redis.sdk.service.Publisher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publisher 发布吞吐，对比逐条发送与批量发送
+ * pushMessage 等待 PUBLISH 完成；pushMessageNoWait 只入队，批量模式下由队列背压限速，反映持续发送能力
+ * 运行：java -jar redis-sdk-benchmark/target/benchmarks.jar PublisherBenchmark
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 16:30
+ * @version: 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class PublisherBenchmark {
+
+    private static final String TOPIC = "benchmark:user";
+
+    /**
+     * 是否开启 redis.sdk.publisher.batch
+     */
+    @Param({"false", "true"})
+    public boolean batch;
+
+    @Param({"256"})
+    public int payloadSize;
+
+    private BenchmarkRedis redis;
+
+    private Publisher publisher;
+
+    private UserMessage message;
+
+    @Setup
+    public void setup() {
+        redis = BenchmarkRedis.start("redis.sdk.publisher.batch.enabled=" + batch, "redis.sdk.publisher.batch.linger=1ms");
+        publisher = redis.getBean(Publisher.class);
+        message = Payloads.userMessage(payloadSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        redis.close();
+    }
+
+    @Benchmark
+    public Long pushMessage() {
+        return publisher.pushMessageAsync(TOPIC, message).join();
+    }
+
+    @Benchmark
+    public void pushMessageNoWait() {
+        publisher.pushMessage(TOPIC, message);
+    }
+
+}
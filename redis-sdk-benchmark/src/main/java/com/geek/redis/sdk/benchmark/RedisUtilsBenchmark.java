@@ -0,0 +1,94 @@
+package com.geek.redis.sdk.benchmark;
+
+import com.geek.redis.sdk.bean.UserMessage;
+import com.geek.redis.sdk.utils.RedisUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisUtils 常用读写命令的吞吐，包含网络往返和序列化
+ * 运行：java -jar redis-sdk-benchmark/target/benchmarks.jar RedisUtilsBenchmark -t 4
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 16:25
+ * @version: 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisUtilsBenchmark {
+
+    private static final String KEY_PREFIX = "benchmark:user:";
+
+    private static final String HASH_KEY = "benchmark:users";
+
+    @Param({"FASTJSON", "BINARY"})
+    public String serializer;
+
+    @Param({"1024"})
+    public int payloadSize;
+
+    /**
+     * mGet 的 key 数量和 hGetAll 的域数量
+     */
+    @Param({"100"})
+    public int batchSize;
+
+    private BenchmarkRedis redis;
+
+    private RedisUtils redisUtils;
+
+    private UserMessage message;
+
+    private List<String> keys;
+
+    @Setup
+    public void setup() {
+        redis = BenchmarkRedis.start("redis.sdk.serializer=" + serializer);
+        redisUtils = redis.getBean(RedisUtils.class);
+        message = Payloads.userMessage(payloadSize);
+        keys = new ArrayList<>(batchSize);
+        Map<String, Object> fields = new HashMap<>(batchSize * 2);
+        for (int i = 0; i < batchSize; i++) {
+            keys.add(KEY_PREFIX + i);
+            redisUtils.set(KEY_PREFIX + i, message);
+            fields.put(String.valueOf(i), message);
+        }
+        redisUtils.hMSet(HASH_KEY, fields);
+    }
+
+    @TearDown
+    public void tearDown() {
+        redisUtils.del(keys.toArray(new String[0]));
+        redisUtils.del(HASH_KEY);
+        redis.close();
+    }
+
+    @Benchmark
+    public Object get() {
+        return redisUtils.get(KEY_PREFIX + 0);
+    }
+
+    @Benchmark
+    public Boolean set() {
+        return redisUtils.set(KEY_PREFIX + 0, message);
+    }
+
+    @Benchmark
+    public List<Object> mGet() {
+        return redisUtils.mGet(keys);
+    }
+
+    @Benchmark
+    public Map<Object, Object> hGetAll() {
+        return redisUtils.hGetAll(HASH_KEY);
+    }
+
+}
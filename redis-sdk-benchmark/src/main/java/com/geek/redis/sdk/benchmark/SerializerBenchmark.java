@@ -0,0 +1,71 @@
+package com.geek.redis.sdk.benchmark;
+
+import com.geek.redis.sdk.bean.UserMessage;
+import com.geek.redis.sdk.config.BinaryRedisSerializer;
+import com.geek.redis.sdk.config.FastJsonRedisSerializer;
+import com.geek.redis.sdk.config.RedisMessageCodecs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FastJsonRedisSerializer 与 BinaryRedisSerializer 的序列化/反序列化对比
+ * 运行：java -jar redis-sdk-benchmark/target/benchmarks.jar SerializerBenchmark -prof gc
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 11:32
+ * @version: 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+
+    /**
+     * username 字段的长度，模拟不同大小的消息体
+     */
+    @Param({"16", "1024", "16384"})
+    public int payloadSize;
+
+    private FastJsonRedisSerializer<Object> fastJson;
+
+    private BinaryRedisSerializer<Object> binary;
+
+    private UserMessage message;
+
+    private byte[] fastJsonBytes;
+
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setup() {
+        fastJson = new FastJsonRedisSerializer<>(Object.class);
+        binary = RedisMessageCodecs.registerAll(new BinaryRedisSerializer<>(Object.class));
+        message = Payloads.userMessage(payloadSize);
+        fastJsonBytes = fastJson.serialize(message);
+        binaryBytes = binary.serialize(message);
+    }
+
+    @Benchmark
+    public byte[] fastJsonSerialize() {
+        return fastJson.serialize(message);
+    }
+
+    @Benchmark
+    public Object fastJsonDeserialize() {
+        return fastJson.deserialize(fastJsonBytes);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return binary.serialize(message);
+    }
+
+    @Benchmark
+    public Object binaryDeserialize() {
+        return binary.deserialize(binaryBytes);
+    }
+
+}
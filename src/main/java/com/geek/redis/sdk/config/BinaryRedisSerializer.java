@@ -0,0 +1,312 @@
+package com.geek.redis.sdk.config;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 紧凑的二进制序列化器
+ * 已注册 {@link Codec} 的类型按 [MAGIC][tag][字段...] 的格式直接写入线程复用的缓冲区，读取时直接从 byte[] 解析，
+ * 不再经过 JSON 字符串与 getBytes 的两次完整拷贝。
+ * 未注册的类型仍按 FastJson(WriteClassName) 写出且不带头部，因此旧数据和 key 的格式保持不变。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 10:41
+ * @version: 1.0
+ */
+public class BinaryRedisSerializer<T> implements RedisSerializer<T> {
+
+    /**
+     * 二进制格式的首字节，不可能出现在 JSON 或 UTF-8 文本的开头
+     */
+    public static final byte MAGIC = (byte) 0xB7;
+
+    /**
+     * 缓冲区超过该大小时不再放回线程复用，避免大对象长期占用内存
+     */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<Output> OUTPUT = ThreadLocal.withInitial(() -> new Output(256));
+
+    private final Class<T> clazz;
+
+    private final Map<Class<?>, Registration<?>> byClass = new HashMap<>();
+
+    private final Registration<?>[] byTag = new Registration<?>[256];
+
+    public BinaryRedisSerializer(Class<T> clazz) {
+        this.clazz = clazz;
+    }
+
+    /**
+     * 注册一个类型的编解码器，应在序列化器开始使用前完成注册
+     * @param tag 类型标识 1~255，写入数据后不可再修改
+     * @param type 类型，按精确类型匹配
+     * @param codec 编解码器
+     * @return this
+     */
+    public <V> BinaryRedisSerializer<T> register(int tag, Class<V> type, Codec<V> codec) {
+        if (tag <= 0 || tag > 255) {
+            throw new IllegalArgumentException("tag must be between 1 and 255");
+        }
+        if (byTag[tag] != null) {
+            throw new IllegalStateException("tag " + tag + " already registered for " + byTag[tag].type.getName());
+        }
+        Registration<V> registration = new Registration<>(tag, type, codec);
+        byTag[tag] = registration;
+        byClass.put(type, registration);
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(T t) throws SerializationException {
+        if (null == t) {
+            return new byte[0];
+        }
+        Registration<Object> registration = (Registration<Object>) byClass.get(t.getClass());
+        if (registration == null) {
+            return JSON.toJSONBytes(t, SerializerFeature.WriteClassName);
+        }
+        Output out = OUTPUT.get();
+        try {
+            out.writeByte(MAGIC);
+            out.writeByte(registration.tag);
+            registration.codec.write(out, t);
+            return out.toByteArray();
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not write " + t.getClass().getName(), e);
+        } finally {
+            if (out.buf.length > MAX_RETAINED_BUFFER) {
+                OUTPUT.remove();
+            } else {
+                out.reset();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (null == bytes || bytes.length <= 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return JSON.parseObject(bytes, clazz);
+        }
+        if (bytes.length < 2 || byTag[bytes[1] & 0xFF] == null) {
+            throw new SerializationException("Unknown binary type tag in payload of " + bytes.length + " bytes");
+        }
+        try {
+            return (T) byTag[bytes[1] & 0xFF].codec.read(new Input(bytes, 2));
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not read binary payload", e);
+        }
+    }
+
+    /**
+     * 单个类型的编解码器，字段的读写顺序必须一致
+     */
+    public interface Codec<V> {
+
+        void write(Output out, V value);
+
+        V read(Input in);
+    }
+
+    private static final class Registration<V> {
+
+        private final int tag;
+
+        private final Class<V> type;
+
+        private final Codec<V> codec;
+
+        private Registration(int tag, Class<V> type, Codec<V> codec) {
+            this.tag = tag;
+            this.type = type;
+            this.codec = codec;
+        }
+    }
+
+    /**
+     * 可扩容的写缓冲区，字符串直接按 UTF-8 编码写入，不创建中间 byte[]
+     */
+    public static final class Output {
+
+        private byte[] buf;
+
+        private int pos;
+
+        Output(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        public void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        public void writeBoolean(boolean b) {
+            writeByte(b ? 1 : 0);
+        }
+
+        /**
+         * 写入 zigzag 变长整数，小数值只占 1~2 个字节
+         */
+        public void writeVarLong(long v) {
+            long n = (v << 1) ^ (v >> 63);
+            ensure(10);
+            while ((n & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((n & 0x7F) | 0x80);
+                n >>>= 7;
+            }
+            buf[pos++] = (byte) n;
+        }
+
+        public void writeDouble(double v) {
+            long bits = Double.doubleToLongBits(v);
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (bits >>> shift);
+            }
+        }
+
+        /**
+         * 写入字符串：字节长度+1(0 表示 null) 后跟 UTF-8 字节
+         */
+        public void writeString(String s) {
+            if (s == null) {
+                writeVarLong(0);
+                return;
+            }
+            int len = s.length();
+            int utf8 = utf8Length(s, len);
+            writeVarLong(utf8 + 1L);
+            ensure(utf8);
+            byte[] b = buf;
+            int p = pos;
+            int i = 0;
+            for (char c; i < len && (c = s.charAt(i)) < 0x80; i++) {
+                b[p++] = (byte) c;
+            }
+            for (; i < len; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    b[p++] = (byte) c;
+                } else if (c < 0x800) {
+                    b[p++] = (byte) (0xC0 | (c >> 6));
+                    b[p++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    b[p++] = (byte) (0xF0 | (cp >> 18));
+                    b[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    b[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    b[p++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    b[p++] = (byte) '?';
+                } else {
+                    b[p++] = (byte) (0xE0 | (c >> 12));
+                    b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    b[p++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            pos = p;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        void reset() {
+            pos = 0;
+        }
+
+        private static int utf8Length(String s, int len) {
+            int n = len;
+            int i = 0;
+            while (i < len && s.charAt(i) < 0x80) {
+                i++;
+            }
+            for (; i < len; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x800) {
+                    if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                        n += 2;
+                        i++;
+                    } else if (!Character.isSurrogate(c)) {
+                        n += 2;
+                    }
+                } else if (c >= 0x80) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + n));
+            }
+        }
+    }
+
+    /**
+     * 直接在原始 byte[] 上读取，不做整体拷贝
+     */
+    public static final class Input {
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Input(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        public int readByte() {
+            return buf[pos++];
+        }
+
+        public boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        public long readVarLong() {
+            long n = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf[pos++];
+                n |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (n >>> 1) ^ -(n & 1);
+        }
+
+        public double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (buf[pos++] & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        public String readString() {
+            int len = (int) readVarLong() - 1;
+            if (len < 0) {
+                return null;
+            }
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.geek.redis.sdk.config;
+
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.RedisCommand;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按命令类型区分的超时时间
+ * 配置了的命令使用 redis.sdk.client.command-timeouts 中的值，其余命令使用默认超时(spring.redis.timeout)；
+ * 阻塞命令(BLPOP、XREAD 等)的等待时间由调用方指定，未单独配置时不设超时。
+ * 注意：RedisTemplate 同步等待结果的时间上限仍然是 spring.redis.timeout ，这里配置得更长不会生效。
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 01:00
+ * @version: 1.0
+ */
+public class CommandTimeoutSource extends TimeoutOptions.TimeoutSource {
+
+    private static final Set<String> BLOCKING_COMMANDS = new HashSet<>(Arrays.asList(
+            "BLPOP", "BRPOP", "BRPOPLPUSH", "BZPOPMIN", "BZPOPMAX", "XREAD", "XREADGROUP", "WAIT"));
+
+    private final Map<String, Long> timeouts = new HashMap<>();
+
+    private final long defaultTimeout;
+
+    /**
+     * @param timeouts 命令名(不区分大小写)到超时时间
+     * @param defaultTimeout 其余命令的超时时间
+     */
+    public CommandTimeoutSource(Map<String, Duration> timeouts, Duration defaultTimeout) {
+        timeouts.forEach((command, timeout) -> this.timeouts.put(command.toUpperCase(Locale.ROOT), timeout.toMillis()));
+        this.defaultTimeout = defaultTimeout.toMillis();
+    }
+
+    @Override
+    public long getTimeout(RedisCommand<?, ?, ?> command) {
+        String type = command.getType().name();
+        Long timeout = timeouts.get(type);
+        if (timeout != null) {
+            return timeout;
+        }
+        // 小于等于 0 表示不设超时
+        return BLOCKING_COMMANDS.contains(type) ? 0 : defaultTimeout;
+    }
+
+}
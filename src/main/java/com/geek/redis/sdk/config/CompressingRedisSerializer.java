@@ -0,0 +1,108 @@
+package com.geek.redis.sdk.config;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+/**
+ * 压缩大 value 的序列化器
+ * 包装任意序列化器，序列化结果达到 threshold 字节时用 LZ4 压缩，按 [MAGIC][算法][原始长度(4 字节)][压缩数据] 的格式写入；
+ * 压缩后没有变小的仍写入原始数据。
+ * 读取时只有以 MAGIC 开头的数据才解压，未压缩的数据和开启压缩之前写入的旧数据照常交给被包装的序列化器。
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 01:40
+ * @version: 1.0
+ */
+public class CompressingRedisSerializer<T> implements RedisSerializer<T> {
+
+    /**
+     * 压缩格式的首字节，与 {@link BinaryRedisSerializer#MAGIC} 不同，也不可能出现在 JSON 或 UTF-8 文本的开头
+     */
+    public static final byte MAGIC = (byte) 0xB8;
+
+    private static final byte LZ4 = 1;
+
+    private static final int HEADER_LENGTH = 6;
+
+    /**
+     * 原始长度的上限，与 Redis 单个 value 的上限一致，防止错误数据导致分配过大的数组
+     */
+    private static final int MAX_LENGTH = 512 * 1024 * 1024;
+
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+
+    private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+    private final RedisSerializer<T> delegate;
+
+    private final int threshold;
+
+    /**
+     * @param delegate 被包装的序列化器
+     * @param threshold 达到该字节数才压缩
+     */
+    public CompressingRedisSerializer(RedisSerializer<T> delegate, int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    public RedisSerializer<T> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public byte[] serialize(T t) throws SerializationException {
+        byte[] bytes = delegate.serialize(t);
+        if (bytes == null || bytes.length < threshold) {
+            return bytes;
+        }
+        byte[] compressed = new byte[HEADER_LENGTH + COMPRESSOR.maxCompressedLength(bytes.length)];
+        int length = COMPRESSOR.compress(bytes, 0, bytes.length, compressed, HEADER_LENGTH);
+        if (HEADER_LENGTH + length >= bytes.length) {
+            return bytes;
+        }
+        compressed[0] = MAGIC;
+        compressed[1] = LZ4;
+        compressed[2] = (byte) (bytes.length >>> 24);
+        compressed[3] = (byte) (bytes.length >>> 16);
+        compressed[4] = (byte) (bytes.length >>> 8);
+        compressed[5] = (byte) bytes.length;
+        return Arrays.copyOf(compressed, HEADER_LENGTH + length);
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        return delegate.deserialize(decompress(bytes));
+    }
+
+    /**
+     * 解压以 MAGIC 开头的数据，其余数据原样返回
+     * @param bytes 从 Redis 读到的数据
+     * @return 被包装的序列化器写出的原始数据
+     */
+    public static byte[] decompress(byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            return bytes;
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] != LZ4) {
+            throw new SerializationException("Unknown compression header in payload of " + bytes.length + " bytes");
+        }
+        int length = (bytes[2] & 0xFF) << 24 | (bytes[3] & 0xFF) << 16 | (bytes[4] & 0xFF) << 8 | (bytes[5] & 0xFF);
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new SerializationException("Invalid uncompressed length " + length);
+        }
+        byte[] result = new byte[length];
+        try {
+            DECOMPRESSOR.decompress(bytes, HEADER_LENGTH, result, 0, length);
+        } catch (LZ4Exception e) {
+            throw new SerializationException("Could not decompress payload of " + bytes.length + " bytes", e);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.geek.redis.sdk.config;
+
+import com.geek.redis.sdk.utils.RedisCommandGuard;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+
+/**
+ * 经过 {@link RedisCommandGuard} 检查的连接工厂
+ * 命令发送前检查是否为需要拒绝的无界调用，抽中的命令在返回后记录耗时和大小。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 23:00
+ * @version: 1.0
+ */
+public class GuardedRedisConnectionFactory implements RedisConnectionFactory {
+
+    private final RedisConnectionFactory delegate;
+
+    private final RedisCommandGuard guard;
+
+    public GuardedRedisConnectionFactory(RedisConnectionFactory delegate, RedisCommandGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    public RedisConnectionFactory getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        return guard(delegate.getConnection());
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        return guard(delegate.getClusterConnection());
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return delegate.getConvertPipelineAndTxResults();
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return delegate.getSentinelConnection();
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+
+    private <C extends RedisConnection> C guard(C connection) {
+        return RedisConnectionProxies.proxy(connection, (proxy, method, args) -> {
+            if (!RedisConnectionProxies.isCommand(method) || connection.isPipelined() || connection.isQueueing()) {
+                return RedisConnectionProxies.invoke(connection, method, args);
+            }
+            guard.check(method.getName(), args, connection);
+            if (!guard.sample()) {
+                return RedisConnectionProxies.invoke(connection, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = RedisConnectionProxies.invoke(connection, method, args);
+            guard.record(method.getName(), args, result, System.nanoTime() - start);
+            return result;
+        });
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.geek.redis.sdk.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录命令耗时的连接工厂
+ * 给 RedisTemplate 使用的连接套一层代理，每个命令方法记录一次 redis.commands 计时(tag: command 为方法名，exception 为异常类名或 none)。
+ * 计时从调用连接方法开始到返回为止，只包含网络往返和 Lettuce 的编解码，value 的序列化由 {@link InstrumentedRedisSerializer} 单独计时。
+ * pipeline 和事务中的命令不单独计时，整批的耗时记在 closePipeline / exec 上。
+ * 注意：RedisAsyncUtils、RedisReactiveUtils 和原生 Lettuce 客户端不经过这里。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 22:20
+ * @version: 1.0
+ */
+public class InstrumentedRedisConnectionFactory implements RedisConnectionFactory {
+
+    public static final String COMMAND_METRIC = "redis.commands";
+
+    /**
+     * 结束 pipeline / 事务的方法，在批处理状态下仍然计时
+     */
+    private static final Set<String> BATCH_ENDS = new HashSet<>(Arrays.asList("closePipeline", "exec"));
+
+    private final RedisConnectionFactory delegate;
+
+    private final MeterRegistry registry;
+
+    private final RedisSdkProperties.Metrics options;
+
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public InstrumentedRedisConnectionFactory(RedisConnectionFactory delegate, MeterRegistry registry, RedisSdkProperties.Metrics options) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.options = options;
+    }
+
+    public RedisConnectionFactory getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        return instrument(delegate.getConnection());
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        return instrument(delegate.getClusterConnection());
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return delegate.getConvertPipelineAndTxResults();
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return delegate.getSentinelConnection();
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+
+    private <C extends RedisConnection> C instrument(C connection) {
+        return RedisConnectionProxies.proxy(connection, new TimingHandler(connection));
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(COMMAND_METRIC)
+                .description("Redis commands issued through RedisTemplate")
+                .tag("command", method.getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram(options.isPercentileHistogram())
+                .minimumExpectedValue(options.getMinimumExpectedLatency())
+                .maximumExpectedValue(options.getMaximumExpectedLatency())
+                .register(registry);
+    }
+
+    private final class TimingHandler implements InvocationHandler {
+
+        private final RedisConnection connection;
+
+        private TimingHandler(RedisConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!isTimed(method)) {
+                return invokeDelegate(method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = invokeDelegate(method, args);
+                timers.computeIfAbsent(method, m -> timer(m, "none")).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Throwable e) {
+                // 失败是少数，不缓存按异常类型区分的计时器
+                timer(method, e.getClass().getSimpleName()).record(Duration.ofNanos(System.nanoTime() - start));
+                throw e;
+            }
+        }
+
+        private boolean isTimed(Method method) {
+            if (!RedisConnectionProxies.isCommand(method)) {
+                return false;
+            }
+            return BATCH_ENDS.contains(method.getName()) || !(connection.isPipelined() || connection.isQueueing());
+        }
+
+        private Object invokeDelegate(Method method, Object[] args) throws Throwable {
+            return RedisConnectionProxies.invoke(connection, method, args);
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.geek.redis.sdk.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录序列化耗时和 payload 大小的序列化器
+ * 指标：redis.serializer(计时) 和 redis.payload.size(字节数)，tag: op 为 serialize / deserialize ，serializer 为被包装的类名。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 22:20
+ * @version: 1.0
+ */
+public class InstrumentedRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final RedisSerializer<T> delegate;
+
+    private final Timer serializeTimer;
+
+    private final Timer deserializeTimer;
+
+    private final DistributionSummary serializedSize;
+
+    private final DistributionSummary deserializedSize;
+
+    public InstrumentedRedisSerializer(RedisSerializer<T> delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        String name = delegate.getClass().getSimpleName();
+        this.serializeTimer = timer(registry, name, "serialize");
+        this.deserializeTimer = timer(registry, name, "deserialize");
+        this.serializedSize = size(registry, name, "serialize");
+        this.deserializedSize = size(registry, name, "deserialize");
+    }
+
+    public RedisSerializer<T> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public byte[] serialize(T t) throws SerializationException {
+        long start = System.nanoTime();
+        byte[] bytes = delegate.serialize(t);
+        serializeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (bytes != null) {
+            serializedSize.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null) {
+            return delegate.deserialize(null);
+        }
+        long start = System.nanoTime();
+        T t = delegate.deserialize(bytes);
+        deserializeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        deserializedSize.record(bytes.length);
+        return t;
+    }
+
+    private static Timer timer(MeterRegistry registry, String serializer, String op) {
+        return Timer.builder("redis.serializer")
+                .description("Time spent in the RedisTemplate value serializer")
+                .tag("serializer", serializer)
+                .tag("op", op)
+                .register(registry);
+    }
+
+    private static DistributionSummary size(MeterRegistry registry, String serializer, String op) {
+        return DistributionSummary.builder("redis.payload.size")
+                .description("Serialized size of RedisTemplate values")
+                .baseUnit("bytes")
+                .tag("serializer", serializer)
+                .tag("op", op)
+                .register(registry);
+    }
+
+}
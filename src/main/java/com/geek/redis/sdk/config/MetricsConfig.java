@@ -0,0 +1,111 @@
+package com.geek.redis.sdk.config;
+
+import com.geek.redis.sdk.service.AbstractMessageReceiver;
+import com.geek.redis.sdk.service.BatchPublisher;
+import com.geek.redis.sdk.service.MessageDispatcher;
+import com.geek.redis.sdk.service.Publisher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer 指标配置，classpath 中有 Micrometer 且 redis.sdk.metrics.enabled 不为 false 时启用
+ * 指标注册到 MeterRegistry ，通过 actuator 的 /actuator/metrics(或 Prometheus 等)查看：
+ * redis.commands        RedisTemplate 发出的每个命令的耗时，按 command / exception 区分，exception 不为 none 的即错误数
+ * redis.serializer      value 序列化耗时，redis.payload.size 为序列化后的字节数
+ * redis.pubsub.*        发布、接收的消息数，分发器的排队时间(listener lag)、队列长度和丢弃数
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 22:20
+ * @version: 1.0
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "redis.sdk.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    /**
+     * 给所有 RedisTemplate 换上计时的连接工厂和序列化器
+     * 静态方法，避免提前初始化配置类；MeterRegistry 在第一个 RedisTemplate 初始化完成后才获取
+     */
+    @Bean
+    public static BeanPostProcessor redisTemplateMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<RedisSdkProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RedisTemplate) {
+                    MeterRegistry registry = meterRegistry.getIfAvailable();
+                    if (registry != null) {
+                        instrument((RedisTemplate<?, ?>) bean, registry, properties.getObject().getMetrics());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 发布、接收相关的指标在所有单例创建完成后再注册
+     * 不能用 MeterBinder ：上面的后置处理器在 redisMessageTemplate 初始化时就会创建 MeterRegistry 并执行所有 MeterBinder ，
+     * 而此时 Publisher 可能正在创建(它依赖 redisMessageTemplate)，再去获取它会循环引用
+     */
+    @Bean
+    public SmartInitializingSingleton redisPubSubMetrics(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<Publisher> publisher, ObjectProvider<BatchPublisher> batchPublisher,
+                                                         ObjectProvider<MessageDispatcher> messageDispatcher, ObjectProvider<AbstractMessageReceiver<?>> receivers) {
+        return () -> meterRegistry.ifAvailable(registry -> {
+            publisher.ifAvailable(p -> FunctionCounter.builder("redis.pubsub.published", p, Publisher::getPublishedCount)
+                    .description("Messages passed to Publisher")
+                    .register(registry));
+            batchPublisher.ifAvailable(p -> Gauge.builder("redis.pubsub.publish.queue", p, BatchPublisher::getQueueSize)
+                    .description("Messages waiting in the batch publisher queue")
+                    .register(registry));
+            receivers.orderedStream().forEach(receiver -> FunctionCounter.builder("redis.pubsub.received", receiver, AbstractMessageReceiver::getReceivedCount)
+                    .description("Messages delivered to the receiver by the listener container")
+                    .tag("receiver", receiver.getClass().getSimpleName())
+                    .register(registry));
+            messageDispatcher.ifAvailable(dispatcher -> {
+                Timer lag = Timer.builder("redis.pubsub.lag")
+                        .description("Time a received message waits in the dispatcher queue before its listener runs")
+                        .publishPercentileHistogram()
+                        .register(registry);
+                dispatcher.setLagRecorder(nanos -> lag.record(nanos, TimeUnit.NANOSECONDS));
+                Gauge.builder("redis.pubsub.dispatch.queue", dispatcher, MessageDispatcher::getQueueDepth)
+                        .description("Messages queued in all dispatcher workers")
+                        .register(registry);
+                Gauge.builder("redis.pubsub.dispatch.queue.max", dispatcher, MessageDispatcher::getMaxQueueDepth)
+                        .description("Queue depth of the busiest dispatcher worker")
+                        .register(registry);
+                FunctionCounter.builder("redis.pubsub.dispatch.rejected", dispatcher, MessageDispatcher::getRejectedCount)
+                        .description("Messages rejected because a dispatcher queue was full")
+                        .register(registry);
+            });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void instrument(RedisTemplate<?, ?> template, MeterRegistry registry, RedisSdkProperties.Metrics options) {
+        if (!(template.getConnectionFactory() instanceof InstrumentedRedisConnectionFactory)) {
+            template.setConnectionFactory(new InstrumentedRedisConnectionFactory(template.getConnectionFactory(), registry, options));
+        }
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) template.getValueSerializer();
+        if (valueSerializer != null && !(valueSerializer instanceof InstrumentedRedisSerializer)) {
+            template.setValueSerializer(new InstrumentedRedisSerializer<>(valueSerializer, registry));
+        }
+        RedisSerializer<Object> hashValueSerializer = (RedisSerializer<Object>) template.getHashValueSerializer();
+        if (hashValueSerializer != null && !(hashValueSerializer instanceof InstrumentedRedisSerializer)) {
+            template.setHashValueSerializer(new InstrumentedRedisSerializer<>(hashValueSerializer, registry));
+        }
+    }
+
+}
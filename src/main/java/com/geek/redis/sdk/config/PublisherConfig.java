@@ -1,9 +1,16 @@
 package com.geek.redis.sdk.config;
 
+import com.geek.redis.sdk.service.BatchPublisher;
+import io.lettuce.core.RedisClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.CollectionUtils;
 
 /**
  * 发布者配置
@@ -14,10 +21,22 @@ import org.springframework.data.redis.core.RedisTemplate;
 @Configuration
 public class PublisherConfig {
     @Bean
-    public RedisTemplate<String, Object> redisMessageTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisMessageTemplate(RedisConnectionFactory connectionFactory, RedisSerializer<Object> redisValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
-        template.setDefaultSerializer(new FastJsonRedisSerializer<>(Object.class));
+        template.setDefaultSerializer(redisValueSerializer);
         return template;
     }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.sdk.publisher.batch", name = "enabled", havingValue = "true")
+    public BatchPublisher batchPublisher(RedisTemplate<String, Object> redisMessageTemplate, RedisSdkProperties properties,
+                                         RedisProperties redisProperties, ObjectProvider<RedisClient> redisNativeClient) {
+        RedisSdkProperties.Batch batch = properties.getPublisher().getBatch();
+        // 集群模式下原生 RedisClient 指向单机地址，退回 pipeline
+        RedisProperties.Cluster cluster = redisProperties.getCluster();
+        RedisClient client = cluster != null && !CollectionUtils.isEmpty(cluster.getNodes()) ? null : redisNativeClient.getIfAvailable();
+        return new BatchPublisher(redisMessageTemplate, client, batch.getSize(), batch.getLinger().toMillis(),
+                batch.getQueueCapacity(), batch.getEnqueueTimeout().toMillis());
+    }
 }
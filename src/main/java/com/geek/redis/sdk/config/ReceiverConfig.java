@@ -1,13 +1,24 @@
 package com.geek.redis.sdk.config;
 
+import com.geek.redis.sdk.service.AbstractMessageReceiver;
 import com.geek.redis.sdk.service.GoodsReceiver;
+import com.geek.redis.sdk.service.MessageDispatcher;
+import com.geek.redis.sdk.service.NearCacheInvalidator;
 import com.geek.redis.sdk.service.UserReceiver;
+import com.geek.redis.sdk.utils.NearCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
  * 订阅者配置
@@ -19,32 +30,57 @@ import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 public class ReceiverConfig {
 
     @Bean
-    public RedisMessageListenerContainer container(RedisConnectionFactory connectionFactory, MessageListenerAdapter userListenerAdapter, MessageListenerAdapter goodsListenerAdapter) {
+    public RedisMessageListenerContainer container(RedisConnectionFactory connectionFactory, UserReceiver userReceiver, GoodsReceiver goodsReceiver,
+                                                   ObjectProvider<NearCacheInvalidator> nearCacheInvalidator, ObjectProvider<MessageDispatcher> messageDispatcher) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(userListenerAdapter, new PatternTopic("user"));
-        container.addMessageListener(goodsListenerAdapter, new PatternTopic("goods"));
+        if (messageDispatcher.getIfAvailable() != null) {
+            // 订阅线程直接把消息交给分发器，不再为每条消息新建线程
+            container.setSubscriptionExecutor(new SimpleAsyncTaskExecutor("redis-subscription-"));
+            container.setTaskExecutor(new SyncTaskExecutor());
+        }
+        container.addMessageListener(userReceiver, new PatternTopic("user"));
+        container.addMessageListener(goodsReceiver, new PatternTopic("goods"));
+        nearCacheInvalidator.ifAvailable(invalidator -> container.addMessageListener(invalidator, new ChannelTopic(invalidator.getChannel())));
         return container;
     }
 
+    /**
+     * 订阅消息的分发线程池，按频道或 msgId 保持顺序
+     */
     @Bean
-    public MessageListenerAdapter userListenerAdapter(UserReceiver receiver) {
-        return new MessageListenerAdapter(receiver, "receiveMessage");
+    @ConditionalOnProperty(prefix = "redis.sdk.receiver.dispatch", name = "enabled", havingValue = "true")
+    public MessageDispatcher messageDispatcher(RedisSdkProperties properties) {
+        RedisSdkProperties.Dispatch dispatch = properties.getReceiver().getDispatch();
+        return new MessageDispatcher(dispatch.getThreads(), dispatch.getQueueCapacity(), dispatch.getRejectPolicy());
     }
 
+    /**
+     * 近端缓存的跨节点失效广播，启用近端缓存时默认开启
+     */
     @Bean
-    public MessageListenerAdapter goodsListenerAdapter(GoodsReceiver receiver) {
-        return new MessageListenerAdapter(receiver, "receiveMessage");
+    @ConditionalOnExpression("${redis.sdk.near-cache.enabled:false} and ${redis.sdk.near-cache.invalidation.enabled:true}")
+    public NearCacheInvalidator nearCacheInvalidator(NearCache nearCache, StringRedisTemplate stringRedisTemplate, RedisSdkProperties properties) {
+        RedisSdkProperties.Invalidation invalidation = properties.getNearCache().getInvalidation();
+        return new NearCacheInvalidator(nearCache, stringRedisTemplate, invalidation.getChannel(),
+                invalidation.getFlushInterval().toMillis(), invalidation.getMaxBatchSize());
     }
 
     @Bean
-    public UserReceiver userReceiver() {
-        return new UserReceiver();
+    public UserReceiver userReceiver(RedisSerializer<Object> redisValueSerializer, ObjectProvider<MessageDispatcher> messageDispatcher, RedisSdkProperties properties) {
+        return configure(new UserReceiver(), redisValueSerializer, messageDispatcher, properties);
     }
 
     @Bean
-    public GoodsReceiver goodsReceiver() {
-        return new GoodsReceiver();
+    public GoodsReceiver goodsReceiver(RedisSerializer<Object> redisValueSerializer, ObjectProvider<MessageDispatcher> messageDispatcher, RedisSdkProperties properties) {
+        return configure(new GoodsReceiver(), redisValueSerializer, messageDispatcher, properties);
+    }
+
+    private static <R extends AbstractMessageReceiver<?>> R configure(R receiver, RedisSerializer<Object> serializer,
+                                                                     ObjectProvider<MessageDispatcher> messageDispatcher, RedisSdkProperties properties) {
+        receiver.setSerializer(serializer);
+        receiver.setDispatcher(messageDispatcher.getIfAvailable(), properties.getReceiver().getDispatch().getKey());
+        return receiver;
     }
 
 }
@@ -1,16 +1,54 @@
 package com.geek.redis.sdk.config;
 
+import com.geek.redis.sdk.service.RedisLockService;
+import com.geek.redis.sdk.service.ReliableQueueService;
+import com.geek.redis.sdk.utils.NearCache;
+import com.geek.redis.sdk.utils.RedisBlockingUtils;
+import com.geek.redis.sdk.utils.RedisCommandGuard;
+import com.geek.redis.sdk.utils.ReplicaReadRouter;
+import com.geek.redis.sdk.utils.TypedRedisTemplates;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -18,19 +56,29 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  */
 @Configuration
 @ConditionalOnClass(RedisOperations.class)
-@EnableConfigurationProperties(RedisProperties.class)
+@EnableConfigurationProperties({RedisProperties.class, RedisSdkProperties.class})
 public class RedisConfig {
 
+    /**
+     * value 序列化器，由 redis.sdk.serializer 选择，默认 fastjson
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "redisValueSerializer")
+    public RedisSerializer<Object> redisValueSerializer(RedisSdkProperties properties) {
+        if (properties.getSerializer() == RedisSdkProperties.SerializerType.BINARY) {
+            return RedisMessageCodecs.registerAll(new BinaryRedisSerializer<>(Object.class));
+        }
+        return new FastJsonRedisSerializer<>(Object.class);
+    }
+
     @Bean
     @ConditionalOnMissingBean(name = "redisTemplate")
-    public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory, RedisSerializer<Object> redisValueSerializer) {
         RedisTemplate<Object, Object> template = new RedisTemplate<>();
 
-        //使用fastjson序列化
-        FastJsonRedisSerializer fastJsonRedisSerializer = new FastJsonRedisSerializer(Object.class);
-        // value值的序列化采用fastJsonRedisSerializer
-        template.setValueSerializer(fastJsonRedisSerializer);
-        template.setHashValueSerializer(fastJsonRedisSerializer);
+        // value值的序列化采用redisValueSerializer
+        template.setValueSerializer(redisValueSerializer);
+        template.setHashValueSerializer(redisValueSerializer);
         // key的序列化采用StringRedisSerializer
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
@@ -39,6 +87,302 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * RedisUtils 的近端缓存，redis.sdk.near-cache.enabled=true 时启用
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.sdk.near-cache", name = "enabled", havingValue = "true")
+    public NearCache nearCache(RedisSdkProperties properties) {
+        RedisSdkProperties.NearCache nearCache = properties.getNearCache();
+        return new NearCache(nearCache.getMaximumSize(), nearCache.getTtl().toMillis());
+    }
+
+    /**
+     * 原生 Lettuce 客户端，用于 spring-data-redis 2.1 尚未封装的命令(如 Streams)和需要独占连接的阻塞读取
+     * 与 RedisConnectionFactory 共用 ClientResources(事件循环、线程池)，连接参数取自 spring.redis.*；
+     * 支持单机和哨兵；配置了 spring.redis.cluster.nodes 时不创建，集群使用 redisClusterClient
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(RedisClient.class)
+    @ConditionalOnExpression("'${spring.redis.cluster.nodes:}'.isEmpty()")
+    public RedisClient redisNativeClient(RedisProperties properties, ClientResources clientResources, RedisSdkProperties sdkProperties) {
+        RedisURI.Builder builder;
+        RedisProperties.Sentinel sentinel = properties.getSentinel();
+        if (sentinel != null && !CollectionUtils.isEmpty(sentinel.getNodes())) {
+            builder = null;
+            for (String node : sentinel.getNodes()) {
+                int index = node.lastIndexOf(':');
+                String host = node.substring(0, index);
+                int port = Integer.parseInt(node.substring(index + 1));
+                builder = builder == null ? RedisURI.Builder.sentinel(host, port, sentinel.getMaster()) : builder.withSentinel(host, port);
+            }
+        } else {
+            builder = RedisURI.Builder.redis(properties.getHost(), properties.getPort());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            builder.withPassword(properties.getPassword());
+        }
+        if (properties.getTimeout() != null) {
+            builder.withTimeout(properties.getTimeout());
+        }
+        builder.withDatabase(properties.getDatabase()).withSsl(properties.isSsl());
+        RedisClient client = RedisClient.create(clientResources, builder.build());
+        client.setOptions(applyClientOptions(ClientOptions.builder(), properties, sdkProperties.getClient()).build());
+        return client;
+    }
+
+    /**
+     * 获取原生单机/哨兵客户端，集群模式下没有该客户端，依赖它的功能直接启动失败而不是连到 spring.redis.host
+     * @param redisNativeClient 原生客户端
+     * @param feature 功能对应的配置项，用于错误信息
+     * @return 原生客户端
+     */
+    static RedisClient nativeClient(ObjectProvider<RedisClient> redisNativeClient, String feature) {
+        RedisClient client = redisNativeClient.getIfAvailable();
+        if (client == null) {
+            throw new IllegalStateException(feature + " requires a standalone or sentinel Redis and is not supported with spring.redis.cluster.nodes");
+        }
+        return client;
+    }
+
+    /**
+     * 原生 Lettuce 集群客户端，配置了 spring.redis.cluster.nodes 时创建，供 RedisClusterUtils 按 slot 分组执行多 key 命令
+     * 与 RedisConnectionFactory 共用 ClientResources ，拓扑刷新方式与 RedisTemplate 的集群连接一致
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(RedisClusterClient.class)
+    @ConditionalOnProperty(prefix = "spring.redis.cluster", name = "nodes")
+    public RedisClusterClient redisClusterClient(RedisProperties properties, ClientResources clientResources, RedisSdkProperties sdkProperties) {
+        List<RedisURI> uris = new ArrayList<>();
+        for (String node : properties.getCluster().getNodes()) {
+            int index = node.lastIndexOf(':');
+            RedisURI.Builder builder = RedisURI.Builder.redis(node.substring(0, index), Integer.parseInt(node.substring(index + 1)));
+            if (StringUtils.hasText(properties.getPassword())) {
+                builder.withPassword(properties.getPassword());
+            }
+            if (properties.getTimeout() != null) {
+                builder.withTimeout(properties.getTimeout());
+            }
+            uris.add(builder.withSsl(properties.isSsl()).build());
+        }
+        RedisClusterClient client = RedisClusterClient.create(clientResources, uris);
+        client.setOptions(clusterClientOptions(properties, sdkProperties));
+        return client;
+    }
+
+    /**
+     * RedisUtils 只读命令的从节点路由，redis.sdk.replica-read.enabled=true 时启用
+     * 使用独立的 Lettuce 主从连接(配置了 ReadFrom)，与 RedisConnectionFactory 共用 ClientResources ；
+     * 拓扑为 redis.sdk.replica-read.replicas 配置的静态主从，或 spring.redis.sentinel
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.sdk.replica-read", name = "enabled", havingValue = "true")
+    public ReplicaReadRouter replicaReadRouter(RedisTemplate<String, Object> redisMessageTemplate, RedisProperties properties, ClientResources clientResources, RedisSdkProperties sdkProperties) {
+        RedisSdkProperties.ReplicaRead replicaRead = sdkProperties.getReplicaRead();
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder client = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .clientOptions(applyClientOptions(ClientOptions.builder(), properties, sdkProperties.getClient()).build())
+                .readFrom(readFrom(replicaRead.getReadFrom()));
+        if (properties.getTimeout() != null) {
+            client.commandTimeout(properties.getTimeout());
+        }
+        if (properties.isSsl()) {
+            client.useSsl();
+        }
+        LettuceConnectionFactory connectionFactory;
+        RedisProperties.Sentinel sentinel = properties.getSentinel();
+        if (!CollectionUtils.isEmpty(replicaRead.getReplicas())) {
+            RedisStaticMasterReplicaConfiguration configuration = new RedisStaticMasterReplicaConfiguration(properties.getHost(), properties.getPort());
+            for (String node : replicaRead.getReplicas()) {
+                int index = node.lastIndexOf(':');
+                configuration.node(node.substring(0, index), Integer.parseInt(node.substring(index + 1)));
+            }
+            configuration.setPassword(RedisPassword.of(properties.getPassword()));
+            configuration.setDatabase(properties.getDatabase());
+            connectionFactory = new LettuceConnectionFactory(configuration, client.build());
+        } else if (sentinel != null && !CollectionUtils.isEmpty(sentinel.getNodes())) {
+            RedisSentinelConfiguration configuration = new RedisSentinelConfiguration(sentinel.getMaster(), new HashSet<>(sentinel.getNodes()));
+            configuration.setPassword(RedisPassword.of(properties.getPassword()));
+            configuration.setDatabase(properties.getDatabase());
+            connectionFactory = new LettuceConnectionFactory(configuration, client.build());
+        } else {
+            throw new IllegalStateException("redis.sdk.replica-read requires redis.sdk.replica-read.replicas or spring.redis.sentinel.nodes");
+        }
+        return new ReplicaReadRouter(redisMessageTemplate, connectionFactory, replicaRead);
+    }
+
+    private static ReadFrom readFrom(String name) {
+        switch (name) {
+            case "master":
+                return ReadFrom.MASTER;
+            case "masterPreferred":
+                return ReadFrom.MASTER_PREFERRED;
+            case "slave":
+                return ReadFrom.SLAVE;
+            case "slavePreferred":
+                return ReadFrom.SLAVE_PREFERRED;
+            case "nearest":
+                return ReadFrom.NEAREST;
+            default:
+                throw new IllegalArgumentException("unsupported redis.sdk.replica-read.read-from: " + name);
+        }
+    }
+
+    /**
+     * RedisTemplate 连接的客户端参数：TCP keepalive / no-delay、连接超时、按命令的超时(redis.sdk.client)；
+     * 集群模式下同样开启拓扑刷新，故障转移和 slot 迁移后不需要等到 MOVED 重定向才更新路由
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer clientOptionsCustomizer(RedisProperties properties, RedisSdkProperties sdkProperties) {
+        return builder -> {
+            RedisProperties.Cluster cluster = properties.getCluster();
+            if (cluster != null && !CollectionUtils.isEmpty(cluster.getNodes())) {
+                builder.clientOptions(clusterClientOptions(properties, sdkProperties));
+            } else {
+                builder.clientOptions(applyClientOptions(ClientOptions.builder(), properties, sdkProperties.getClient()).build());
+            }
+        };
+    }
+
+    /**
+     * 连接工厂是否共享连接、是否校验共享连接，取自 redis.sdk.client
+     */
+    @Bean
+    public static BeanPostProcessor lettuceConnectionFactoryPostProcessor(ObjectProvider<RedisSdkProperties> sdkProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LettuceConnectionFactory) {
+                    RedisSdkProperties.Client client = sdkProperties.getObject().getClient();
+                    ((LettuceConnectionFactory) bean).setShareNativeConnection(client.isShareNativeConnection());
+                    ((LettuceConnectionFactory) bean).setValidateConnection(client.isValidateConnection());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 启动时预先建立 redis.sdk.client.warm-up-connections 个连接
+     */
+    @Bean
+    public RedisConnectionWarmer redisConnectionWarmer(RedisConnectionFactory redisConnectionFactory, RedisSdkProperties sdkProperties) {
+        return new RedisConnectionWarmer(redisConnectionFactory, sdkProperties.getClient().getWarmUpConnections());
+    }
+
+    private static ClientOptions.Builder applyClientOptions(ClientOptions.Builder options, RedisProperties properties, RedisSdkProperties.Client client) {
+        options.socketOptions(SocketOptions.builder()
+                .connectTimeout(client.getConnectTimeout())
+                .keepAlive(client.isKeepAlive())
+                .tcpNoDelay(client.isTcpNoDelay())
+                .build());
+        if (!CollectionUtils.isEmpty(client.getCommandTimeouts())) {
+            Duration defaultTimeout = properties.getTimeout() != null ? properties.getTimeout() : Duration.ofSeconds(RedisURI.DEFAULT_TIMEOUT);
+            options.timeoutOptions(TimeoutOptions.builder().timeoutSource(new CommandTimeoutSource(client.getCommandTimeouts(), defaultTimeout)).build());
+        }
+        return options;
+    }
+
+    private static ClusterClientOptions clusterClientOptions(RedisProperties properties, RedisSdkProperties sdkProperties) {
+        RedisSdkProperties.Cluster cluster = sdkProperties.getCluster();
+        ClusterTopologyRefreshOptions.Builder refresh = ClusterTopologyRefreshOptions.builder();
+        if (cluster.isAdaptiveRefresh()) {
+            refresh.enableAllAdaptiveRefreshTriggers();
+        }
+        if (cluster.getRefreshPeriod() != null && !cluster.getRefreshPeriod().isZero()) {
+            refresh.enablePeriodicRefresh(cluster.getRefreshPeriod());
+        }
+        ClusterClientOptions.Builder options = ClusterClientOptions.builder().topologyRefreshOptions(refresh.build());
+        if (properties.getCluster().getMaxRedirects() != null) {
+            options.maxRedirects(properties.getCluster().getMaxRedirects());
+        }
+        applyClientOptions(options, properties, sdkProperties.getClient());
+        return options.build();
+    }
+
+    /**
+     * 阻塞式弹出，使用独立的连接，redis.sdk.blocking.enabled=true 时启用
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.sdk.blocking", name = "enabled", havingValue = "true")
+    public RedisBlockingUtils redisBlockingUtils(RedisTemplate<String, Object> redisMessageTemplate, ObjectProvider<RedisClient> redisNativeClient, RedisSdkProperties properties) {
+        return new RedisBlockingUtils(redisMessageTemplate, nativeClient(redisNativeClient, "redis.sdk.blocking"), properties.getBlocking());
+    }
+
+    /**
+     * 分布式锁
+     */
+    @Bean
+    public RedisLockService redisLockService(StringRedisTemplate stringRedisTemplate, RedisSdkProperties properties) {
+        RedisSdkProperties.Lock lock = properties.getLock();
+        return new RedisLockService(stringRedisTemplate, lock.getKeyPrefix(), lock.getLeaseTime().toMillis());
+    }
+
+    /**
+     * 可靠任务队列
+     */
+    @Bean
+    public ReliableQueueService reliableQueueService(RedisTemplate<String, Object> redisMessageTemplate, RedisSdkProperties properties) {
+        return new ReliableQueueService(redisMessageTemplate, properties.getQueue());
+    }
+
+    /**
+     * 慢命令和大 key 检测，redis.sdk.guard.enabled=true 时启用
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.sdk.guard", name = "enabled", havingValue = "true")
+    public RedisCommandGuard redisCommandGuard(RedisSdkProperties properties) {
+        return new RedisCommandGuard(properties.getGuard());
+    }
+
+    /**
+     * 让所有 RedisTemplate 的命令经过 RedisCommandGuard
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.sdk.guard", name = "enabled", havingValue = "true")
+    public static BeanPostProcessor redisCommandGuardPostProcessor(ObjectProvider<RedisCommandGuard> redisCommandGuard) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RedisTemplate && !(((RedisTemplate<?, ?>) bean).getConnectionFactory() instanceof GuardedRedisConnectionFactory)) {
+                    RedisTemplate<?, ?> template = (RedisTemplate<?, ?>) bean;
+                    template.setConnectionFactory(new GuardedRedisConnectionFactory(template.getConnectionFactory(), redisCommandGuard.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 按 key 前缀绑定类型的 RedisTemplate ，value 不写类名，key 的序列化与 RedisUtils 相同
+     */
+    @Bean
+    public TypedRedisTemplates typedRedisTemplates(RedisConnectionFactory redisConnectionFactory, RedisTemplate<String, Object> redisMessageTemplate,
+                                                   RedisSdkProperties sdkProperties, ApplicationContext applicationContext) {
+        RedisSdkProperties.Typed typed = sdkProperties.getTyped();
+        Map<Integer, Class<?>> typeIds = RedisMessageCodecs.typeIds();
+        typed.getTypeIds().forEach((id, type) -> {
+            Class<?> existing = typeIds.putIfAbsent(id, type);
+            if (existing != null && existing != type) {
+                throw new IllegalStateException("type id " + id + " already used by " + existing.getName());
+            }
+        });
+        // key 格式与 RedisUtils(redisMessageTemplate)一致，按前缀读写的是同一批 key
+        TypedRedisTemplates templates = new TypedRedisTemplates(redisConnectionFactory, redisMessageTemplate.getKeySerializer(), redisMessageTemplate.getHashKeySerializer(),
+                typeIds, applicationContext.getAutowireCapableBeanFactory());
+        typed.getPrefixes().forEach(templates::register);
+        return templates;
+    }
+
+    /**
+     * 给所有 RedisTemplate 的 value / hash value 序列化器加上压缩，redis.sdk.compression.enabled=false 时只解压不压缩，便于回滚
+     * 先于 MetricsConfig 的包装执行，redis.payload.size 记录的是压缩后的大小
+     */
+    @Bean
+    public static BeanPostProcessor redisValueCompressionPostProcessor(ObjectProvider<RedisSdkProperties> sdkProperties) {
+        return new CompressionPostProcessor(sdkProperties);
+    }
+
     @Bean
     @ConditionalOnMissingBean(StringRedisTemplate.class)
     public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
@@ -47,4 +391,38 @@ public class RedisConfig {
         return template;
     }
 
-}
\ No newline at end of file
+    private static final class CompressionPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<RedisSdkProperties> sdkProperties;
+
+        private CompressionPostProcessor(ObjectProvider<RedisSdkProperties> sdkProperties) {
+            this.sdkProperties = sdkProperties;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof RedisTemplate) || bean instanceof StringRedisTemplate) {
+                return bean;
+            }
+            RedisTemplate<?, ?> template = (RedisTemplate<?, ?>) bean;
+            RedisSdkProperties.Compression compression = sdkProperties.getObject().getCompression();
+            int threshold = compression.isEnabled() ? compression.getThreshold() : Integer.MAX_VALUE;
+            RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) template.getValueSerializer();
+            if (valueSerializer != null && !(valueSerializer instanceof CompressingRedisSerializer)) {
+                template.setValueSerializer(new CompressingRedisSerializer<>(valueSerializer, threshold));
+            }
+            RedisSerializer<Object> hashValueSerializer = (RedisSerializer<Object>) template.getHashValueSerializer();
+            if (hashValueSerializer != null && !(hashValueSerializer instanceof CompressingRedisSerializer)) {
+                template.setHashValueSerializer(new CompressingRedisSerializer<>(hashValueSerializer, threshold));
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+}
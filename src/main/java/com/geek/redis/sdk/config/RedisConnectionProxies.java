@@ -0,0 +1,59 @@
+package com.geek.redis.sdk.config;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * RedisConnection 代理的公共方法，供计时、检测等包装连接工厂使用
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 23:00
+ * @version: 1.0
+ */
+final class RedisConnectionProxies {
+
+    /**
+     * 连接管理类方法，不是 Redis 命令
+     */
+    private static final Set<String> NOT_COMMANDS = new HashSet<>(Arrays.asList(
+            "close", "isClosed", "getNativeConnection", "isQueueing", "isPipelined", "openPipeline",
+            "isSubscribed", "getSubscription", "subscribe", "pSubscribe", "getSentinelConnection"));
+
+    private RedisConnectionProxies() {
+    }
+
+    /**
+     * @return 方法是否对应一个 Redis 命令，而不是连接管理或获取 xxxCommands() 的方法
+     */
+    static boolean isCommand(Method method) {
+        return method.getDeclaringClass() != Object.class && !NOT_COMMANDS.contains(method.getName())
+                && !method.getReturnType().getSimpleName().endsWith("Commands");
+    }
+
+    /**
+     * @return 实现 connection 所有接口的代理
+     */
+    @SuppressWarnings("unchecked")
+    static <C extends RedisConnection> C proxy(C connection, InvocationHandler handler) {
+        return (C) Proxy.newProxyInstance(connection.getClass().getClassLoader(), ClassUtils.getAllInterfaces(connection), handler);
+    }
+
+    /**
+     * 调用被代理的连接，抛出原始异常而不是 InvocationTargetException
+     */
+    static Object invoke(RedisConnection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.geek.redis.sdk.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动时预先建立连接
+ * LettuceConnectionFactory 在第一次使用时才建立连接，连接池也是按需创建，发布后最初的请求要承担 TCP 握手、AUTH、SELECT 的耗时。
+ * 这里在所有单例初始化完成后(Web 容器接收请求之前)同时打开 N 个连接并各执行一次 PING ，完成后归还：
+ * 共享连接由普通 PING 建立，独占连接(启用 spring.redis.lettuce.pool 时来自连接池)由 pipeline 中的 PING 建立。
+ * 失败只记录日志，不影响启动。
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 01:10
+ * @version: 1.0
+ */
+@Slf4j
+public class RedisConnectionWarmer implements SmartInitializingSingleton {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private final int connections;
+
+    public RedisConnectionWarmer(RedisConnectionFactory connectionFactory, int connections) {
+        this.connectionFactory = connectionFactory;
+        this.connections = connections;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (connections <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<RedisConnection> opened = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                RedisConnection connection = connectionFactory.getConnection();
+                opened.add(connection);
+                connection.ping();
+                if (!(connection instanceof RedisClusterConnection)) {
+                    connection.openPipeline();
+                    connection.ping();
+                    connection.closePipeline();
+                }
+            }
+            log.info("warmed up {} redis connections in {}ms", connections, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.warn("redis connection warm-up stopped after {} of {} connections", opened.size(), connections, e);
+        } finally {
+            opened.forEach(RedisConnection::close);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.geek.redis.sdk.config;
+
+import com.geek.redis.sdk.bean.GoodsMessage;
+import com.geek.redis.sdk.bean.RedisMessage;
+import com.geek.redis.sdk.bean.UserMessage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RedisMessage 子类的二进制编解码器
+ * 新增消息类型时在这里追加 tag，已经使用过的 tag 不能复用或修改。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 10:58
+ * @version: 1.0
+ */
+public final class RedisMessageCodecs {
+
+    public static final int USER_MESSAGE = 1;
+
+    public static final int GOODS_MESSAGE = 2;
+
+    public static final BinaryRedisSerializer.Codec<UserMessage> USER = new BinaryRedisSerializer.Codec<UserMessage>() {
+        @Override
+        public void write(BinaryRedisSerializer.Output out, UserMessage value) {
+            writeHeader(out, value);
+            out.writeString(value.getUserId());
+            out.writeString(value.getUsername());
+            out.writeString(value.getPassword());
+        }
+
+        @Override
+        public UserMessage read(BinaryRedisSerializer.Input in) {
+            UserMessage message = readHeader(in, new UserMessage());
+            message.setUserId(in.readString());
+            message.setUsername(in.readString());
+            message.setPassword(in.readString());
+            return message;
+        }
+    };
+
+    public static final BinaryRedisSerializer.Codec<GoodsMessage> GOODS = new BinaryRedisSerializer.Codec<GoodsMessage>() {
+        @Override
+        public void write(BinaryRedisSerializer.Output out, GoodsMessage value) {
+            writeHeader(out, value);
+            out.writeString(value.getGoodsType());
+            out.writeString(value.getNumber());
+        }
+
+        @Override
+        public GoodsMessage read(BinaryRedisSerializer.Input in) {
+            GoodsMessage message = readHeader(in, new GoodsMessage());
+            message.setGoodsType(in.readString());
+            message.setNumber(in.readString());
+            return message;
+        }
+    };
+
+    private RedisMessageCodecs() {
+    }
+
+    /**
+     * 注册全部消息类型
+     * @param serializer 二进制序列化器
+     * @return 传入的序列化器
+     */
+    public static <T> BinaryRedisSerializer<T> registerAll(BinaryRedisSerializer<T> serializer) {
+        return serializer
+                .register(USER_MESSAGE, UserMessage.class, USER)
+                .register(GOODS_MESSAGE, GoodsMessage.class, GOODS);
+    }
+
+    /**
+     * @return 全部消息类型的 tag ，同时作为 TypedJsonRedisSerializer 的类型 id
+     */
+    public static Map<Integer, Class<?>> typeIds() {
+        Map<Integer, Class<?>> typeIds = new LinkedHashMap<>();
+        typeIds.put(USER_MESSAGE, UserMessage.class);
+        typeIds.put(GOODS_MESSAGE, GoodsMessage.class);
+        return typeIds;
+    }
+
+    private static void writeHeader(BinaryRedisSerializer.Output out, RedisMessage message) {
+        out.writeString(message.getMsgId());
+        out.writeVarLong(message.getCreateStamp());
+    }
+
+    private static <M extends RedisMessage> M readHeader(BinaryRedisSerializer.Input in, M message) {
+        message.setMsgId(in.readString());
+        message.setCreateStamp(in.readVarLong());
+        return message;
+    }
+
+}
@@ -0,0 +1,610 @@
+package com.geek.redis.sdk.config;
+
+import com.geek.redis.sdk.service.MessageDispatcher;
+import com.geek.redis.sdk.utils.ReplicaReadRouter;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * redis-sdk 自身的配置项，前缀 redis.sdk
+ * 连接地址等基础配置仍然使用 spring.redis.*
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 11:05
+ * @version: 1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "redis.sdk")
+public class RedisSdkProperties {
+
+    /**
+     * value 的序列化方式
+     */
+    private SerializerType serializer = SerializerType.FASTJSON;
+
+    /**
+     * RedisUtils.get / hget 的进程内近端缓存
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * 消息发布
+     */
+    private Publisher publisher = new Publisher();
+
+    /**
+     * 消息订阅
+     */
+    private Receiver receiver = new Receiver();
+
+    /**
+     * 基于 Streams 消费组的可靠消息
+     */
+    private Stream stream = new Stream();
+
+    /**
+     * 分布式锁
+     */
+    private Lock lock = new Lock();
+
+    /**
+     * 阻塞式弹出(BLPOP / BRPOP / BRPOPLPUSH)
+     */
+    private Blocking blocking = new Blocking();
+
+    /**
+     * 基于列表的可靠任务队列
+     */
+    private Queue queue = new Queue();
+
+    /**
+     * 命令耗时、序列化和 pub/sub 指标
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 慢命令和大 key 检测
+     */
+    private Guard guard = new Guard();
+
+    /**
+     * RedisUtils 的删除方式
+     */
+    private Delete delete = new Delete();
+
+    /**
+     * Redis Cluster 的拓扑刷新，节点地址仍然使用 spring.redis.cluster.nodes
+     */
+    private Cluster cluster = new Cluster();
+
+    /**
+     * RedisUtils 只读命令的从节点路由
+     */
+    private ReplicaRead replicaRead = new ReplicaRead();
+
+    /**
+     * Lettuce 客户端的 TCP 参数、按命令的超时和启动预热，连接池大小仍然使用 spring.redis.lettuce.pool.*
+     */
+    private Client client = new Client();
+
+    /**
+     * RedisTemplate 大 value 的压缩
+     */
+    private Compression compression = new Compression();
+
+    /**
+     * 按 key 前缀绑定类型的 TypedRedisTemplates
+     */
+    private Typed typed = new Typed();
+
+    public enum SerializerType {
+        /**
+         * FastJson + WriteClassName，兼容旧数据
+         */
+        FASTJSON,
+        /**
+         * 已注册类型走紧凑二进制格式，其余类型回退到 FastJson
+         */
+        BINARY
+    }
+
+    @Data
+    public static class NearCache {
+
+        /**
+         * 是否启用，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最多缓存的 key 数量
+         */
+        private int maximumSize = 10000;
+
+        /**
+         * 写入缓存后的存活时间，也是没有失效通知时的最大不一致时间
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * 多实例部署时的失效广播
+         */
+        private Invalidation invalidation = new Invalidation();
+    }
+
+    @Data
+    public static class Invalidation {
+
+        /**
+         * 是否通过 pub/sub 把本节点的写入失效广播到其他节点
+         */
+        private boolean enabled = true;
+
+        /**
+         * 失效消息的频道
+         */
+        private String channel = "redis-sdk:near-cache:invalidate";
+
+        /**
+         * 合并发送的时间窗口
+         */
+        private Duration flushInterval = Duration.ofMillis(10);
+
+        /**
+         * 单条失效消息最多携带的 key 数量，攒够后立即发送
+         */
+        private int maxBatchSize = 512;
+    }
+
+    @Data
+    public static class Publisher {
+
+        /**
+         * 批量发布
+         */
+        private Batch batch = new Batch();
+    }
+
+    @Data
+    public static class Batch {
+
+        /**
+         * 是否启用，启用后 Publisher.pushMessage 改为入队后由后台线程 pipeline 批量发送
+         */
+        private boolean enabled = false;
+
+        /**
+         * 单次 pipeline 最多发送的消息数
+         */
+        private int size = 256;
+
+        /**
+         * 攒批的最长等待时间，为 0 时只合并已经在排队的消息
+         */
+        private Duration linger = Duration.ofMillis(2);
+
+        /**
+         * 队列容量
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * 队列满时调用方最多阻塞的时间，超时后返回失败
+         */
+        private Duration enqueueTimeout = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Receiver {
+
+        /**
+         * 订阅线程之后的分发线程池
+         */
+        private Dispatch dispatch = new Dispatch();
+    }
+
+    @Data
+    public static class Dispatch {
+
+        /**
+         * 是否启用，关闭时沿用容器默认的每条消息一个新线程
+         */
+        private boolean enabled = false;
+
+        /**
+         * worker 数量，每个 worker 一个线程
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 每个 worker 的队列容量
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * 分发 key ，相同 key 的消息保持顺序
+         */
+        private DispatchKey key = DispatchKey.CHANNEL;
+
+        /**
+         * 队列已满时的处理策略
+         */
+        private MessageDispatcher.RejectPolicy rejectPolicy = MessageDispatcher.RejectPolicy.BLOCK;
+    }
+
+    public enum DispatchKey {
+        /**
+         * 按频道分发，同一频道内严格有序
+         */
+        CHANNEL,
+        /**
+         * 按 RedisMessage.msgId 分发，没有 msgId 的消息按频道分发
+         */
+        MSG_ID
+    }
+
+    @Data
+    public static class Stream {
+
+        /**
+         * 是否启用，需要 Redis 5.0 及以上
+         */
+        private boolean enabled = false;
+
+        /**
+         * 消费组名称，同一组内的多个实例分摊消息
+         */
+        private String group = "redis-sdk";
+
+        /**
+         * 消费者名称前缀，为空时使用「进程号@主机名」；固定名称可以让重启后的实例直接接着处理自己未确认的消息
+         */
+        private String consumerName;
+
+        /**
+         * 每个 stream 在本实例上的消费者(线程)数量
+         */
+        private int consumers = 1;
+
+        /**
+         * XADD 时按 MAXLEN ~ 近似裁剪的长度
+         */
+        private long maxLen = 100000;
+
+        /**
+         * XREADGROUP 每次读取的条数
+         */
+        private int batchSize = 100;
+
+        /**
+         * XREADGROUP 的阻塞时间，也是停止消费时的最长等待时间
+         */
+        private Duration block = Duration.ofSeconds(2);
+
+        /**
+         * 检查其他消费者未确认消息的间隔
+         */
+        private Duration reclaimInterval = Duration.ofSeconds(30);
+
+        /**
+         * 未确认超过该时间的消息会被认领重新处理
+         */
+        private Duration minIdle = Duration.ofMinutes(1);
+
+        /**
+         * 最大投递次数，达到后转入死信 stream(原 key 加 :dead 后缀)并确认
+         */
+        private int maxDeliveries = 5;
+    }
+
+    @Data
+    public static class Lock {
+
+        /**
+         * 锁 key 的前缀
+         */
+        private String keyPrefix = "lock:";
+
+        /**
+         * 看门狗续期模式下的租期，每 1/3 租期续期一次；进程退出后锁最多在一个租期后释放
+         */
+        private Duration leaseTime = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Blocking {
+
+        /**
+         * 是否启用，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 单次阻塞弹出使用的独立连接池大小，与普通命令的连接互不影响
+         */
+        private int maxConnections = 64;
+
+        /**
+         * 独立连接池耗尽时借用连接的最长等待时间
+         */
+        private Duration maxWait = Duration.ofSeconds(1);
+
+        /**
+         * 独立连接池启动时预先建立并保持的连接数
+         */
+        private int minIdle = 0;
+
+        /**
+         * 队列消费者每次阻塞弹出的超时时间，也是停止消费者时的最长等待时间
+         */
+        private Duration popTimeout = Duration.ofSeconds(5);
+
+        /**
+         * JDK 21 及以上时消费者运行在虚拟线程上，否则使用异步命令和少量处理线程
+         */
+        private boolean virtualThreads = true;
+
+        /**
+         * 不使用虚拟线程时处理消息的线程数
+         */
+        private int handlerThreads = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class Queue {
+
+        /**
+         * 队列 key 的前缀
+         */
+        private String keyPrefix = "queue:";
+
+        /**
+         * 取出的任务在该时间内没有确认，会被放回队列重新投递
+         */
+        private Duration visibilityTimeout = Duration.ofSeconds(30);
+
+        /**
+         * 检查超时任务的间隔
+         */
+        private Duration reapInterval = Duration.ofSeconds(5);
+
+        /**
+         * 每次检查最多放回的任务数量
+         */
+        private int reapBatchSize = 1000;
+
+        /**
+         * 消费者每次往返取出的任务数量
+         */
+        private int prefetch = 10;
+
+        /**
+         * 队列为空时消费者的轮询间隔
+         */
+        private Duration idleInterval = Duration.ofMillis(200);
+    }
+
+    @Data
+    public static class Metrics {
+
+        /**
+         * 是否启用，classpath 中有 Micrometer 时默认开启
+         */
+        private boolean enabled = true;
+
+        /**
+         * 是否为命令耗时发布直方图桶，供 Prometheus 等计算跨实例的分位数
+         */
+        private boolean percentileHistogram = true;
+
+        /**
+         * 直方图桶的下界
+         */
+        private Duration minimumExpectedLatency = Duration.ofNanos(100_000);
+
+        /**
+         * 直方图桶的上界
+         */
+        private Duration maximumExpectedLatency = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Guard {
+
+        /**
+         * 是否启用，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 检查耗时和返回大小的命令比例，0 到 1
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * 耗时超过该值的命令记为慢命令
+         */
+        private Duration slowThreshold = Duration.ofMillis(10);
+
+        /**
+         * 返回或写入的集合元素数超过该值记为大 key
+         */
+        private int bigKeyElements = 5000;
+
+        /**
+         * 返回或写入的单个值超过该字节数记为大 key
+         */
+        private int bigKeyBytes = 1024 * 1024;
+
+        /**
+         * 是否拒绝无界调用：KEYS ，以及返回元素数会超过 rejectElements 的 LRANGE / ZRANGE / SMEMBERS / HGETALL 等
+         */
+        private boolean rejectUnbounded = false;
+
+        /**
+         * 拒绝无界调用的元素数阈值
+         */
+        private int rejectElements = 50000;
+
+        /**
+         * 最多统计的 key 模式数量，超过后归入「*」
+         */
+        private int maxPatterns = 1000;
+
+        /**
+         * 同一个 key 模式的告警日志最短间隔
+         */
+        private Duration logInterval = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Delete {
+
+        /**
+         * RedisUtils.del 是否改用 UNLINK ，在后台线程释放内存，需要 Redis 4.0 及以上
+         */
+        private boolean unlink = false;
+
+        /**
+         * 渐进删除和按模式清除时每批删除的元素或 key 数量
+         */
+        private int batchSize = 500;
+
+        /**
+         * 渐进删除和按模式清除时每批之间的暂停时间
+         */
+        private Duration pause = Duration.ofMillis(10);
+    }
+
+    @Data
+    public static class Cluster {
+
+        /**
+         * 收到 MOVED / ASK 重定向或连接断开时立即刷新拓扑
+         */
+        private boolean adaptiveRefresh = true;
+
+        /**
+         * 定期刷新拓扑的间隔，为 0 时不定期刷新
+         */
+        private Duration refreshPeriod = Duration.ofSeconds(60);
+    }
+
+
+    @Data
+    public static class ReplicaRead {
+
+        /**
+         * 是否把 RedisUtils 的只读命令路由到从节点
+         */
+        private boolean enabled = false;
+
+        /**
+         * Lettuce 的 ReadFrom ：slavePreferred / slave / nearest / masterPreferred
+         */
+        private String readFrom = "slavePreferred";
+
+        /**
+         * 静态主从拓扑的从节点地址(host:port)，主节点使用 spring.redis.host / port ；为空时使用 spring.redis.sentinel
+         */
+        private List<String> replicas = new ArrayList<>();
+
+        /**
+         * 读从节点的操作分组，默认只有能容忍复制延迟的 BIT、ZSET
+         */
+        private Set<ReplicaReadRouter.ReadGroup> groups = EnumSet.of(ReplicaReadRouter.ReadGroup.BIT, ReplicaReadRouter.ReadGroup.ZSET);
+
+        /**
+         * 从节点 INFO replication 中的 lag 超过该值时所有读取回到主节点
+         */
+        private Duration maxLag = Duration.ofSeconds(2);
+
+        /**
+         * 检查复制延迟的间隔
+         */
+        private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+        /**
+         * 读从节点连接失败或超时后，这段时间内只读主节点
+         */
+        private Duration failureCooldown = Duration.ofSeconds(30);
+    }
+
+
+    @Data
+    public static class Client {
+
+        /**
+         * 普通命令是否共用一条连接(Lettuce 连接是线程安全的)；关闭后每次操作从连接池借用独占连接
+         */
+        private boolean shareNativeConnection = true;
+
+        /**
+         * 每次获取共享连接时是否先校验，校验失败重新建立连接
+         */
+        private boolean validateConnection = false;
+
+        /**
+         * 建立 TCP 连接的超时时间
+         */
+        private Duration connectTimeout = Duration.ofSeconds(10);
+
+        /**
+         * 是否开启 TCP keepalive ，及时发现被中间设备断开的空闲连接
+         */
+        private boolean keepAlive = true;
+
+        /**
+         * 是否关闭 Nagle 算法
+         */
+        private boolean tcpNoDelay = true;
+
+        /**
+         * 按命令名(如 HGETALL、EVALSHA)单独设置的超时时间，其余命令使用 spring.redis.timeout
+         */
+        private Map<String, Duration> commandTimeouts = new LinkedHashMap<>();
+
+        /**
+         * 启动时预先建立的连接数，为 0 时不预热
+         */
+        private int warmUpConnections = 1;
+    }
+
+
+    @Data
+    public static class Compression {
+
+        /**
+         * 是否压缩 RedisTemplate 写入的大 value ；关闭时只写不压缩的数据，已压缩的数据仍然可以读取
+         */
+        private boolean enabled = false;
+
+        /**
+         * 序列化结果达到该字节数才压缩
+         */
+        private int threshold = 4096;
+    }
+
+
+    @Data
+    public static class Typed {
+
+        /**
+         * key 前缀到类型，如 redis.sdk.typed.prefixes[user:]=com.geek.redis.sdk.bean.UserMessage
+         */
+        private Map<String, Class<?>> prefixes = new LinkedHashMap<>();
+
+        /**
+         * 子类的类型 id(1~255)，在 RedisMessageCodecs 内置的 id 之外追加，已经使用过的 id 不能复用或修改
+         */
+        private Map<Integer, Class<?>> typeIds = new LinkedHashMap<>();
+    }
+
+}
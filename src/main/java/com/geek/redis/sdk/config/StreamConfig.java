@@ -0,0 +1,82 @@
+package com.geek.redis.sdk.config;
+
+import com.geek.redis.sdk.bean.RedisMessage;
+import com.geek.redis.sdk.service.AbstractMessageReceiver;
+import com.geek.redis.sdk.service.GoodsReceiver;
+import com.geek.redis.sdk.service.StreamConsumer;
+import com.geek.redis.sdk.service.StreamPublisher;
+import com.geek.redis.sdk.service.UserReceiver;
+import io.lettuce.core.RedisClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams 消息配置，redis.sdk.stream.enabled=true 时启用
+ * stream 与 pub/sub 的 topic 对应：stream:user -> UserReceiver ，stream:goods -> GoodsReceiver
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 17:40
+ * @version: 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "redis.sdk.stream", name = "enabled", havingValue = "true")
+public class StreamConfig {
+
+    public static final String USER_STREAM = "stream:user";
+
+    public static final String GOODS_STREAM = "stream:goods";
+
+    @Bean
+    public StreamPublisher streamPublisher(ObjectProvider<RedisClient> redisNativeClient, RedisSerializer<Object> redisValueSerializer, RedisSdkProperties properties) {
+        return new StreamPublisher(RedisConfig.nativeClient(redisNativeClient, "redis.sdk.stream"), redisValueSerializer, properties.getStream().getMaxLen());
+    }
+
+    @Bean
+    public StreamConsumers userStreamConsumers(ObjectProvider<RedisClient> redisNativeClient, UserReceiver userReceiver, RedisSdkProperties properties) {
+        return new StreamConsumers(RedisConfig.nativeClient(redisNativeClient, "redis.sdk.stream"), USER_STREAM, userReceiver, properties.getStream());
+    }
+
+    @Bean
+    public StreamConsumers goodsStreamConsumers(ObjectProvider<RedisClient> redisNativeClient, GoodsReceiver goodsReceiver, RedisSdkProperties properties) {
+        return new StreamConsumers(RedisConfig.nativeClient(redisNativeClient, "redis.sdk.stream"), GOODS_STREAM, goodsReceiver, properties.getStream());
+    }
+
+    /**
+     * 一个 stream 在本实例上的 consumers 个消费者，名称为「前缀-序号」
+     */
+    public static class StreamConsumers implements InitializingBean, DisposableBean {
+
+        private final List<StreamConsumer> consumers = new ArrayList<>();
+
+        public StreamConsumers(RedisClient redisClient, String stream, AbstractMessageReceiver<? extends RedisMessage> receiver, RedisSdkProperties.Stream options) {
+            String prefix = StringUtils.hasText(options.getConsumerName()) ? options.getConsumerName() : ManagementFactory.getRuntimeMXBean().getName();
+            for (int i = 0; i < options.getConsumers(); i++) {
+                consumers.add(new StreamConsumer(redisClient, stream, prefix + "-" + i, receiver, options));
+            }
+        }
+
+        @Override
+        public void afterPropertiesSet() {
+            for (StreamConsumer consumer : consumers) {
+                consumer.afterPropertiesSet();
+            }
+        }
+
+        @Override
+        public void destroy() throws InterruptedException {
+            for (StreamConsumer consumer : consumers) {
+                consumer.destroy();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.geek.redis.sdk.config;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 绑定具体类型的 JSON 序列化器
+ * 值的类型就是绑定的类型时按普通 JSON 写出，不带 @type ，读取时直接解析为绑定的类型，不需要按类名查找类。
+ * 多态的场景给子类注册类型 id ，按 [MAGIC][id][JSON] 的格式写出，一个字节代替完整类名；
+ * 未注册的子类仍按 FastJson(WriteClassName) 写出，不会丢失类型。
+ * 旧数据(带 @type 的 JSON)仍然可以读取。
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 02:10
+ * @version: 1.0
+ */
+public class TypedJsonRedisSerializer<T> implements RedisSerializer<T> {
+
+    /**
+     * 带类型 id 的格式的首字节，与 {@link BinaryRedisSerializer#MAGIC}、{@link CompressingRedisSerializer#MAGIC} 不同
+     */
+    public static final byte MAGIC = (byte) 0xB9;
+
+    private final Class<T> type;
+
+    private final Map<Class<?>, Integer> idByClass = new HashMap<>();
+
+    private final Class<?>[] classById = new Class<?>[256];
+
+    public TypedJsonRedisSerializer(Class<T> type) {
+        this.type = type;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * 注册子类的类型 id ，应在序列化器开始使用前完成注册
+     * @param id 类型 id 1~255，写入数据后不可再修改
+     * @param subtype 子类，按精确类型匹配
+     * @return this
+     */
+    public TypedJsonRedisSerializer<T> register(int id, Class<? extends T> subtype) {
+        if (id <= 0 || id > 255) {
+            throw new IllegalArgumentException("type id must be between 1 and 255");
+        }
+        if (classById[id] != null) {
+            throw new IllegalStateException("type id " + id + " already registered for " + classById[id].getName());
+        }
+        classById[id] = subtype;
+        idByClass.put(subtype, id);
+        return this;
+    }
+
+    @Override
+    public byte[] serialize(T t) throws SerializationException {
+        if (null == t) {
+            return new byte[0];
+        }
+        if (t.getClass() == type) {
+            return JSON.toJSONBytes(t);
+        }
+        Integer id = idByClass.get(t.getClass());
+        if (id == null) {
+            return JSON.toJSONBytes(t, SerializerFeature.WriteClassName);
+        }
+        byte[] json = JSON.toJSONBytes(t);
+        byte[] bytes = new byte[json.length + 2];
+        bytes[0] = MAGIC;
+        bytes[1] = (byte) id.intValue();
+        System.arraycopy(json, 0, bytes, 2, json.length);
+        return bytes;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (null == bytes || bytes.length <= 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return JSON.parseObject(bytes, type);
+        }
+        Class<?> subtype = bytes.length < 2 ? null : classById[bytes[1] & 0xFF];
+        if (subtype == null) {
+            throw new SerializationException("Unknown type id in payload of " + bytes.length + " bytes for " + type.getName());
+        }
+        return (T) JSON.parseObject(new String(bytes, 2, bytes.length - 2, StandardCharsets.UTF_8), subtype);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.geek.redis.sdk.service;
+
+import com.alibaba.fastjson.JSON;
+import com.geek.redis.sdk.bean.RedisMessage;
+import com.geek.redis.sdk.config.BinaryRedisSerializer;
+import com.geek.redis.sdk.config.CompressingRedisSerializer;
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 类型化的消息接收者，替代 {@link AbstractReceiver} + MessageListenerAdapter
+ * 直接实现 MessageListener ，没有反射调用；消息体只反序列化一次，直接解析成 T ：
+ * 二进制格式交给 {@link BinaryRedisSerializer} ，其余按 FastJson 解析到具体类型(不依赖 autoType)。
+ * 设置了 {@link MessageDispatcher} 时在订阅线程上解码，再按频道或 msgId 交给 worker 执行 {@link #receiveMessage}。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 15:50
+ * @version: 1.0
+ */
+@Slf4j
+public abstract class AbstractMessageReceiver<T extends RedisMessage> implements MessageListener {
+
+    private final Class<T> messageType;
+
+    private RedisSerializer<?> serializer;
+
+    private MessageDispatcher dispatcher;
+
+    private RedisSdkProperties.DispatchKey dispatchKey = RedisSdkProperties.DispatchKey.CHANNEL;
+
+    private final LongAdder receivedCount = new LongAdder();
+
+    protected AbstractMessageReceiver(Class<T> messageType) {
+        this.messageType = messageType;
+    }
+
+    /**
+     * 处理消息
+     * @param message 已解码的消息
+     */
+    public abstract void receiveMessage(T message);
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        receivedCount.increment();
+        T decoded;
+        try {
+            decoded = decode(message.getBody());
+        } catch (Exception e) {
+            log.error("decode {} failed, channel: {}", messageType.getSimpleName(), new String(message.getChannel(), StandardCharsets.UTF_8), e);
+            return;
+        }
+        if (decoded == null) {
+            return;
+        }
+        if (dispatcher == null) {
+            receiveMessage(decoded);
+            return;
+        }
+        Object key = dispatchKey == RedisSdkProperties.DispatchKey.MSG_ID && decoded.getMsgId() != null
+                ? decoded.getMsgId() : new String(message.getChannel(), StandardCharsets.UTF_8);
+        dispatcher.dispatch(key, () -> receiveMessage(decoded));
+    }
+
+    /**
+     * 把消息体解码为 T
+     * @param body 消息体
+     * @return 消息，空消息体返回 null
+     */
+    protected T decode(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        body = CompressingRedisSerializer.decompress(body);
+        if (body[0] == BinaryRedisSerializer.MAGIC && serializer instanceof BinaryRedisSerializer) {
+            return messageType.cast(serializer.deserialize(body));
+        }
+        return JSON.parseObject(body, messageType);
+    }
+
+    public Class<T> getMessageType() {
+        return messageType;
+    }
+
+    /**
+     * @return 从订阅频道收到的消息数，包括解码失败的消息
+     */
+    public long getReceivedCount() {
+        return receivedCount.sum();
+    }
+
+    /**
+     * @param serializer 发布端使用的序列化器，为二进制格式时用于解码二进制消息
+     */
+    public void setSerializer(RedisSerializer<?> serializer) {
+        this.serializer = serializer;
+    }
+
+    /**
+     * @param dispatcher 分发器，为 null 时在容器线程上直接处理
+     * @param dispatchKey 分发 key
+     */
+    public void setDispatcher(MessageDispatcher dispatcher, RedisSdkProperties.DispatchKey dispatchKey) {
+        this.dispatcher = dispatcher;
+        this.dispatchKey = dispatchKey;
+    }
+
+}
@@ -4,7 +4,9 @@ package com.geek.redis.sdk.service;
  * @author: Geek Wang
  * @createDate: 2019/2/12 14:14
  * @version: 1.0
+ * @deprecated 配合 MessageListenerAdapter 反射调用，消息按字符串传入；请改用 {@link AbstractMessageReceiver}
  */
+@Deprecated
 public abstract class AbstractReceiver {
     public abstract void receiveMessage(Object message);
 }
@@ -0,0 +1,250 @@
+package com.geek.redis.sdk.service;
+
+import com.geek.redis.sdk.bean.RedisMessage;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量消息发布者
+ * 消息在调用线程完成序列化后进入有界队列，由单独的线程攒批：攒够 batchSize 条或等待超过 linger 后，
+ * 把整批 PUBLISH 一次写入发布者独占的原生连接(一次 flush)，不逐条等待回复，连接在最后一批回复到达后才关闭；
+ * 没有原生客户端(如集群)时退回 pipeline ，同步等待整批回复。所有 topic 共用一个 FIFO 队列，同一 topic 内的消息顺序不变。
+ * 队列满时调用方最多阻塞 enqueueTimeout ，仍然放不进去则返回失败的 future ，以此形成背压。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 14:45
+ * @version: 1.0
+ */
+@Slf4j
+public class BatchPublisher implements InitializingBean, DisposableBean {
+
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * 已发出、尚未收到全部回复的批次上限，超过后发送线程等待，队列随之积压形成背压
+     */
+    private static final int MAX_IN_FLIGHT_BATCHES = 4;
+
+    private final RedisTemplate<String, Object> redisMessageTemplate;
+
+    private final RedisClient redisClient;
+
+    private StatefulRedisConnection<byte[], byte[]> connection;
+
+    private final int batchSize;
+
+    private final long lingerNanos;
+
+    private final long enqueueTimeoutMillis;
+
+    private final BlockingQueue<PendingMessage> queue;
+
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT_BATCHES);
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    /**
+     * @param redisMessageTemplate 提供序列化器，没有原生客户端时用于 pipeline 发送
+     * @param redisClient 原生客户端，用于建立发布者独占的连接；为 null 时使用 pipeline
+     */
+    public BatchPublisher(RedisTemplate<String, Object> redisMessageTemplate, RedisClient redisClient, int batchSize, long lingerMillis, int queueCapacity, long enqueueTimeoutMillis) {
+        this.redisMessageTemplate = redisMessageTemplate;
+        this.redisClient = redisClient;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * 发布消息
+     * @param topic 频道
+     * @param message 消息
+     * @return 收到消息的订阅者数量；队列已满或发送失败时异常完成
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Long> pushMessage(String topic, RedisMessage message) {
+        byte[] channel = redisMessageTemplate.getStringSerializer().serialize(topic);
+        byte[] body = ((RedisSerializer<Object>) redisMessageTemplate.getValueSerializer()).serialize(message);
+        PendingMessage pending = new PendingMessage(channel, body);
+        if (!running) {
+            pending.future.completeExceptionally(new RejectedExecutionException("BatchPublisher is not running"));
+            return pending.future;
+        }
+        try {
+            if (!queue.offer(pending, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                pending.future.completeExceptionally(new RejectedExecutionException("publish queue is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future.completeExceptionally(e);
+        }
+        return pending.future;
+    }
+
+    /**
+     * @return 排队等待发送的消息数
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (redisClient != null) {
+            connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+        }
+        running = true;
+        flusher = new Thread(this::run, "redis-batch-publisher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        if (connection != null) {
+            // 等已发出的批次收到回复后再关闭连接
+            if (!inFlight.tryAcquire(MAX_IN_FLIGHT_BATCHES, 10, TimeUnit.SECONDS)) {
+                log.warn("close publish connection with batches still in flight");
+            }
+            connection.close();
+        }
+    }
+
+    private void run() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingMessage> batch) throws InterruptedException {
+        inFlight.acquire();
+        List<PendingMessage> sending = new ArrayList<>(batch);
+        if (connection != null) {
+            dispatch(sending);
+        } else {
+            publishPipelined(sending);
+        }
+    }
+
+    /**
+     * 把整批 PUBLISH 一次写入独占连接，不等待回复，最后一条回复到达时释放 inFlight
+     */
+    private void dispatch(List<PendingMessage> batch) {
+        List<AsyncCommand<byte[], byte[], Long>> commands = new ArrayList<>(batch.size());
+        AtomicInteger remaining = new AtomicInteger(batch.size());
+        for (PendingMessage pending : batch) {
+            AsyncCommand<byte[], byte[], Long> command = new AsyncCommand<>(new Command<>(CommandType.PUBLISH,
+                    new IntegerOutput<>(ByteArrayCodec.INSTANCE), new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey(pending.channel).addValue(pending.body)));
+            command.whenComplete((receivers, e) -> {
+                if (e != null) {
+                    pending.future.completeExceptionally(e);
+                } else {
+                    pending.future.complete(receivers);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    inFlight.release();
+                }
+            });
+            commands.add(command);
+        }
+        try {
+            connection.dispatch(commands);
+        } catch (RuntimeException e) {
+            log.warn("publish batch of {} messages failed", batch.size(), e);
+            for (AsyncCommand<byte[], byte[], Long> command : commands) {
+                command.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 通过 pipeline 发送整批并同步等待回复
+     */
+    private void publishPipelined(List<PendingMessage> batch) {
+        try {
+            List<Object> results = redisMessageTemplate.executePipelined((RedisCallback<Object>) pipeline -> {
+                for (PendingMessage pending : batch) {
+                    pipeline.publish(pending.channel, pending.body);
+                }
+                return null;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete((Long) results.get(i));
+            }
+        } catch (Exception e) {
+            log.warn("publish batch of {} messages failed", batch.size(), e);
+            for (PendingMessage pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static final class PendingMessage {
+
+        private final byte[] channel;
+
+        private final byte[] body;
+
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        private PendingMessage(byte[] channel, byte[] body) {
+            this.channel = channel;
+            this.body = body;
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.geek.redis.sdk.service;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 基于 BLPOP / BRPOP 的列表队列消费者
+ * 每个弹出者(popper)使用一条独占的连接循环阻塞弹出，不占用 RedisTemplate 连接池，普通命令不会因为阻塞弹出而拿不到连接。
+ * 有虚拟线程执行器时(JDK 21+)每个弹出者运行在一个虚拟线程上，阻塞等待不占用平台线程；
+ * 否则使用异步命令，等待期间不占用任何线程，弹出的元素交给少量处理线程处理，处理完成后再发起下一次弹出。
+ * 注意：元素弹出后即从列表删除，处理失败只记录日志；需要失败重试时使用可靠队列。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 20:10
+ * @version: 1.0
+ */
+@Slf4j
+public class BlockingQueueConsumer implements AutoCloseable {
+
+    private final String name;
+
+    private final byte[] key;
+
+    private final boolean left;
+
+    private final long timeoutSeconds;
+
+    private final RedisSerializer<?> valueSerializer;
+
+    private final Consumer<Object> handler;
+
+    private final List<Popper> poppers = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param redisClient 原生客户端，每个弹出者从中创建一条独占连接
+     * @param name 队列名称，用于日志
+     * @param key 序列化后的列表 key
+     * @param left true:BLPOP ，false:BRPOP
+     * @param concurrency 弹出者数量
+     * @param popTimeout 每次阻塞弹出的超时时间，最小 1 秒
+     * @param valueSerializer 元素的反序列化器
+     * @param handler 元素处理器
+     * @param virtualThreads 虚拟线程执行器，为 null 时使用异步模式
+     * @param handlerExecutor 异步模式下处理元素和失败重试的线程池
+     */
+    public BlockingQueueConsumer(RedisClient redisClient, String name, byte[] key, boolean left, int concurrency, Duration popTimeout,
+                                 RedisSerializer<?> valueSerializer, Consumer<Object> handler, ExecutorService virtualThreads,
+                                 ScheduledExecutorService handlerExecutor) {
+        this.name = name;
+        this.key = key;
+        this.left = left;
+        this.timeoutSeconds = Math.max(1, popTimeout.getSeconds());
+        this.valueSerializer = valueSerializer;
+        this.handler = handler;
+        for (int i = 0; i < concurrency; i++) {
+            StatefulRedisConnection<byte[], byte[]> connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+            // 阻塞弹出期间连接上不会有其他命令，超时时间需要覆盖弹出超时
+            connection.setTimeout(connection.getTimeout().plusSeconds(timeoutSeconds));
+            poppers.add(new Popper(connection, handlerExecutor));
+        }
+        for (Popper popper : poppers) {
+            if (virtualThreads != null) {
+                virtualThreads.execute(popper::runBlocking);
+            } else {
+                popper.popAsync();
+            }
+        }
+    }
+
+    /**
+     * @return 弹出者数量
+     */
+    public int getConcurrency() {
+        return poppers.size();
+    }
+
+    /**
+     * 停止弹出，等待进行中的弹出和处理结束(最多一个弹出超时)后关闭连接
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds + 5);
+        for (Popper popper : poppers) {
+            try {
+                popper.stopped.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (TimeoutException | ExecutionException e) {
+                log.warn("blocking queue consumer {} did not stop in time", name);
+            }
+            popper.connection.close();
+        }
+    }
+
+    private void handle(byte[] bytes) {
+        try {
+            handler.accept(valueSerializer.deserialize(bytes));
+        } catch (Exception e) {
+            log.error("handle element of blocking queue {} failed", name, e);
+        }
+    }
+
+    /**
+     * 一个弹出者，同一时刻最多只有一个进行中的弹出
+     */
+    private final class Popper {
+
+        private final StatefulRedisConnection<byte[], byte[]> connection;
+
+        private final ScheduledExecutorService handlerExecutor;
+
+        private final CompletableFuture<Void> stopped = new CompletableFuture<>();
+
+        private Popper(StatefulRedisConnection<byte[], byte[]> connection, ScheduledExecutorService handlerExecutor) {
+            this.connection = connection;
+            this.handlerExecutor = handlerExecutor;
+        }
+
+        /**
+         * 虚拟线程模式：同步阻塞弹出，阻塞时虚拟线程让出载体线程
+         */
+        private void runBlocking() {
+            RedisCommands<byte[], byte[]> commands = connection.sync();
+            while (running) {
+                try {
+                    KeyValue<byte[], byte[]> element = left ? commands.blpop(timeoutSeconds, key) : commands.brpop(timeoutSeconds, key);
+                    if (element != null && element.hasValue()) {
+                        handle(element.getValue());
+                    }
+                } catch (Exception e) {
+                    if (!running) {
+                        break;
+                    }
+                    log.warn("pop blocking queue {} failed, retry in 1s", name, e);
+                    try {
+                        TimeUnit.SECONDS.sleep(1);
+                    } catch (InterruptedException interrupted) {
+                        break;
+                    }
+                }
+            }
+            stopped.complete(null);
+        }
+
+        /**
+         * 异步模式：弹出完成后在处理线程上处理元素，再发起下一次弹出
+         */
+        private void popAsync() {
+            if (!running) {
+                stopped.complete(null);
+                return;
+            }
+            RedisFuture<KeyValue<byte[], byte[]>> future = left
+                    ? connection.async().blpop(timeoutSeconds, key)
+                    : connection.async().brpop(timeoutSeconds, key);
+            future.whenComplete((element, e) -> {
+                if (e != null) {
+                    if (running) {
+                        log.warn("pop blocking queue {} failed, retry in 1s", name, e);
+                    }
+                    handlerExecutor.schedule(this::popAsync, 1, TimeUnit.SECONDS);
+                } else if (element != null && element.hasValue()) {
+                    handlerExecutor.execute(() -> {
+                        handle(element.getValue());
+                        popAsync();
+                    });
+                } else {
+                    popAsync();
+                }
+            });
+        }
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.geek.redis.sdk.service;
 
-import com.alibaba.fastjson.JSON;
+import com.geek.redis.sdk.bean.GoodsMessage;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -9,9 +9,14 @@ import lombok.extern.slf4j.Slf4j;
  * @version: 1.0
  */
 @Slf4j
-public class GoodsReceiver extends AbstractReceiver {
+public class GoodsReceiver extends AbstractMessageReceiver<GoodsMessage> {
+
+    public GoodsReceiver() {
+        super(GoodsMessage.class);
+    }
+
     @Override
-    public void receiveMessage(Object message) {
-        System.out.println("接收到商品消息：" + JSON.toJSONString(message));
+    public void receiveMessage(GoodsMessage message) {
+        log.info("接收到商品消息：{}", message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package com.geek.redis.sdk.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * 消息分发器
+ * 由 stripes 个单线程 worker 组成，按 key 的 hash 选择 worker ，同一个 key 的消息总是在同一个线程上按到达顺序处理，
+ * 不同 key 之间互不阻塞。每个 worker 的队列有界，队列满时按 {@link RejectPolicy} 处理。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 15:10
+ * @version: 1.0
+ */
+@Slf4j
+public class MessageDispatcher implements DisposableBean {
+
+    private final ThreadPoolExecutor[] workers;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private volatile LongConsumer lagRecorder;
+
+    public MessageDispatcher(int stripes, int queueCapacity, RejectPolicy rejectPolicy) {
+        Assert.isTrue(stripes > 0, "stripes must be greater than 0");
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0");
+        this.workers = new ThreadPoolExecutor[stripes];
+        AtomicInteger threadIndex = new AtomicInteger();
+        for (int i = 0; i < stripes; i++) {
+            workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity), r -> {
+                Thread thread = new Thread(r, "redis-message-dispatcher-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, rejectHandler(rejectPolicy));
+        }
+    }
+
+    /**
+     * 把任务交给 key 对应的 worker
+     * @param key 决定顺序的 key ，相同 key 串行执行
+     * @param task 任务
+     */
+    public void dispatch(Object key, Runnable task) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        LongConsumer recorder = lagRecorder;
+        long dispatchedAt = recorder == null ? 0 : System.nanoTime();
+        workers[(h & Integer.MAX_VALUE) % workers.length].execute(() -> {
+            if (recorder != null) {
+                recorder.accept(System.nanoTime() - dispatchedAt);
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.error("message listener failed, key: {}", key, e);
+            }
+        });
+    }
+
+    /**
+     * @return 所有 worker 排队中的消息总数
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor worker : workers) {
+            depth += worker.getQueue().size();
+        }
+        return depth;
+    }
+
+    /**
+     * @return 排队最多的 worker 的队列长度，用于发现热点 key
+     */
+    public int getMaxQueueDepth() {
+        int max = 0;
+        for (ThreadPoolExecutor worker : workers) {
+            max = Math.max(max, worker.getQueue().size());
+        }
+        return max;
+    }
+
+    /**
+     * @return 因队列已满被丢弃的消息数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getCompletedCount() {
+        long completed = 0;
+        for (ThreadPoolExecutor worker : workers) {
+            completed += worker.getCompletedTaskCount();
+        }
+        return completed;
+    }
+
+    public int getStripes() {
+        return workers.length;
+    }
+
+    /**
+     * @param lagRecorder 接收每条消息从分发到开始处理的排队时间(纳秒)，为 null 时不统计
+     */
+    public void setLagRecorder(LongConsumer lagRecorder) {
+        this.lagRecorder = lagRecorder;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ThreadPoolExecutor worker : workers) {
+            worker.shutdown();
+        }
+        for (ThreadPoolExecutor worker : workers) {
+            if (!worker.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("message dispatcher stopped with {} messages pending", worker.shutdownNow().size());
+            }
+        }
+    }
+
+    private RejectedExecutionHandler rejectHandler(RejectPolicy rejectPolicy) {
+        switch (rejectPolicy) {
+            case DISCARD:
+                return (r, executor) -> {
+                    rejectedCount.increment();
+                    log.warn("message dispatcher queue is full, message discarded");
+                };
+            case CALLER_RUNS:
+                return (r, executor) -> {
+                    rejectedCount.increment();
+                    if (!executor.isShutdown()) {
+                        r.run();
+                    }
+                };
+            case BLOCK:
+            default:
+                return (r, executor) -> {
+                    if (executor.isShutdown()) {
+                        rejectedCount.increment();
+                        throw new RejectedExecutionException("message dispatcher is shut down");
+                    }
+                    try {
+                        executor.getQueue().put(r);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        rejectedCount.increment();
+                        throw new RejectedExecutionException("interrupted while waiting for dispatcher queue", e);
+                    }
+                };
+        }
+    }
+
+    /**
+     * 队列已满时的处理策略
+     */
+    public enum RejectPolicy {
+        /**
+         * 阻塞订阅线程直到队列有空位，不丢消息、保持顺序，背压会传导到 Redis 的输出缓冲区
+         */
+        BLOCK,
+        /**
+         * 丢弃新消息并计数
+         */
+        DISCARD,
+        /**
+         * 在订阅线程上直接处理，不丢消息，但同一个 key 的顺序不再保证
+         */
+        CALLER_RUNS
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.geek.redis.sdk.service;
+
+import com.geek.redis.sdk.utils.NearCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 近端缓存的跨节点失效广播
+ * 本节点写入导致的失效先放入待发送集合，同一个 key 在一个窗口内只发送一次；
+ * 每隔 flushInterval 或攒够 maxBatchSize 个 key 时合并成一条消息 PUBLISH ，避免写入风暴变成消息风暴。
+ * 消息格式为「实例ID\nkey1\nkey2...」，收到自己发出的消息时忽略。
+ * 注意：pub/sub 不保证送达，订阅断开期间的失效会丢失，此时依赖近端缓存的 TTL 兜底。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 14:10
+ * @version: 1.0
+ */
+@Slf4j
+public class NearCacheInvalidator implements NearCache.InvalidationListener, MessageListener, InitializingBean, DisposableBean {
+
+    private static final char SEPARATOR = '\n';
+
+    private final NearCache nearCache;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final String channel;
+
+    private final long flushIntervalMillis;
+
+    private final int maxBatchSize;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+
+    public NearCacheInvalidator(NearCache nearCache, StringRedisTemplate stringRedisTemplate, String channel, long flushIntervalMillis, int maxBatchSize) {
+        this.nearCache = nearCache;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.channel = channel;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "near-cache-invalidator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        nearCache.setInvalidationListener(this);
+    }
+
+    @Override
+    public void destroy() {
+        nearCache.setInvalidationListener(null);
+        scheduler.shutdown();
+        try {
+            // 等正在执行的 flush 结束，再把剩余的 key 发出去
+            scheduler.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * 本节点写入后由 NearCache 回调，只入队不发送
+     */
+    @Override
+    public void onInvalidate(String key) {
+        pending.add(key);
+        if (pending.size() >= maxBatchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // destroy 期间仍有写入回调，调度器已关闭，直接在当前线程发送
+                flush();
+            }
+        }
+    }
+
+    /**
+     * 收到其他节点的失效消息
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int start = body.indexOf(SEPARATOR);
+        if (start < 0 || instanceId.equals(body.substring(0, start))) {
+            return;
+        }
+        while (start < body.length()) {
+            int end = body.indexOf(SEPARATOR, start + 1);
+            if (end < 0) {
+                end = body.length();
+            }
+            if (end > start + 1) {
+                nearCache.evict(body.substring(start + 1, end));
+            }
+            start = end;
+        }
+    }
+
+    void flush() {
+        flushScheduled.set(false);
+        StringBuilder payload = null;
+        int count = 0;
+        Iterator<String> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            iterator.remove();
+            if (payload == null) {
+                payload = new StringBuilder(instanceId);
+            }
+            payload.append(SEPARATOR).append(key);
+            if (++count == maxBatchSize) {
+                publish(payload.toString());
+                payload = null;
+                count = 0;
+            }
+        }
+        if (payload != null) {
+            publish(payload.toString());
+        }
+    }
+
+    private void publish(String payload) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, payload);
+        } catch (Exception e) {
+            log.warn("publish near cache invalidation failed, remote entries expire by ttl", e);
+        }
+    }
+
+}
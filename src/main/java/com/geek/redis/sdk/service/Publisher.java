@@ -1,26 +1,80 @@
 package com.geek.redis.sdk.service;
 
 import com.geek.redis.sdk.bean.RedisMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * 消息发布者
+ * 开启 redis.sdk.publisher.batch.enabled 后，消息交给 {@link BatchPublisher} 批量发送
  * @author: Geek Wang
  * @createDate: 2019/2/12 14:13
  * @version: 1.0
  */
+@Slf4j
 @Service
 public class Publisher {
     private final RedisTemplate<String, Object> redisMessageTemplate;
 
+    private final BatchPublisher batchPublisher;
+
+    private final LongAdder publishedCount = new LongAdder();
+
     @Autowired
-    public Publisher(RedisTemplate<String, Object> redisMessageTemplate) {
+    public Publisher(RedisTemplate<String, Object> redisMessageTemplate, ObjectProvider<BatchPublisher> batchPublisher) {
         this.redisMessageTemplate = redisMessageTemplate;
+        this.batchPublisher = batchPublisher.getIfAvailable();
     }
 
+    /**
+     * 发布消息，批量模式下只入队，发送失败记录日志
+     */
     public void pushMessage(String topic, RedisMessage message) {
-        redisMessageTemplate.convertAndSend(topic,message);
+        publishedCount.increment();
+        if (batchPublisher == null) {
+            redisMessageTemplate.convertAndSend(topic,message);
+            return;
+        }
+        batchPublisher.pushMessage(topic, message).whenComplete((receivers, e) -> {
+            if (e != null) {
+                log.warn("push message to {} failed, msgId: {}", topic, message.getMsgId(), e);
+            }
+        });
+    }
+
+    /**
+     * 发布消息
+     * @return 收到消息的订阅者数量，未开启批量模式时同步发送后返回已完成的 future
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Long> pushMessageAsync(String topic, RedisMessage message) {
+        publishedCount.increment();
+        if (batchPublisher != null) {
+            return batchPublisher.pushMessage(topic, message);
+        }
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        try {
+            byte[] channel = redisMessageTemplate.getStringSerializer().serialize(topic);
+            byte[] body = ((RedisSerializer<Object>) redisMessageTemplate.getValueSerializer()).serialize(message);
+            future.complete(redisMessageTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body)));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @return 调用发布的消息数，包括发送失败的消息
+     */
+    public long getPublishedCount() {
+        return publishedCount.sum();
     }
 }
@@ -0,0 +1,300 @@
+package com.geek.redis.sdk.service;
+
+import io.lettuce.core.cluster.SlotHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于 Redis 的分布式锁
+ * 加锁：一次 EVALSHA 完成 SET key token NX PX lease 和 INCR 栅栏计数，成功时返回单调递增的栅栏令牌(fencing token)，
+ *       下游存储按令牌拒绝过期持有者的写入，防止 GC 停顿等导致锁过期后旧持有者继续写。
+ * 解锁：比较 token 后 DEL ，不会删掉别人的锁。
+ * 续期：未指定租期的锁由一个共享的看门狗线程每 lease/3 续期一次，所有持有的锁合并为一次脚本调用(集群模式下按 slot 分组，每个 slot 一次)；续期失败的锁标记为已丢失。
+ * 注意：锁不可重入；锁 key 为「前缀{name}」，栅栏计数为「前缀{name}:fence」，两者在同一个 slot 且栅栏计数不过期。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 18:40
+ * @version: 1.0
+ */
+@Slf4j
+public class RedisLockService implements DisposableBean {
+
+    private static final RedisScript<Long> LOCK = new DefaultRedisScript<>(
+            "if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then return redis.call('INCR', KEYS[2]) end " +
+            "return 0", Long.class);
+
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0", Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RENEW = new DefaultRedisScript<>(
+            "local result = {} " +
+            "for i = 1, #KEYS do " +
+            "  if redis.call('GET', KEYS[i]) == ARGV[i + 1] then result[i] = redis.call('PEXPIRE', KEYS[i], ARGV[1]) else result[i] = 0 end " +
+            "end " +
+            "return result", List.class);
+
+    /**
+     * 单次续期脚本最多携带的锁数量
+     */
+    private static final int RENEW_BATCH_SIZE = 1000;
+
+    private static final long MAX_RETRY_INTERVAL_MILLIS = 100;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final String keyPrefix;
+
+    private final long leaseMillis;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<String, Lock> renewing = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean watchdogStarted = new AtomicBoolean();
+
+    private volatile Boolean cluster;
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "redis-lock-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param stringRedisTemplate 字符串模板
+     * @param keyPrefix 锁 key 前缀
+     * @param leaseMillis 看门狗模式下的租期(毫秒)
+     */
+    public RedisLockService(StringRedisTemplate stringRedisTemplate, String keyPrefix, long leaseMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * 尝试加锁，不等待；持有期间由看门狗自动续期，直到 unlock
+     * @param name 锁名称
+     * @return 锁，失败返回 null
+     */
+    public Lock tryLock(String name) {
+        try {
+            return tryLock(name, 0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * 在 waitTime 内尝试加锁；持有期间由看门狗自动续期，直到 unlock
+     * @param name 锁名称
+     * @param waitTime 最长等待时间
+     * @param unit 时间单位
+     * @return 锁，超时返回 null
+     */
+    public Lock tryLock(String name, long waitTime, TimeUnit unit) throws InterruptedException {
+        Lock lock = acquire(name, unit.toMillis(waitTime), leaseMillis);
+        if (lock != null) {
+            renewing.put(lock.key, lock);
+            startWatchdog();
+        }
+        return lock;
+    }
+
+    /**
+     * 在 waitTime 内尝试加锁，租期固定为 leaseTime ，不自动续期
+     * @param name 锁名称
+     * @param waitTime 最长等待时间
+     * @param leaseTime 租期，到期后锁自动释放
+     * @param unit 时间单位
+     * @return 锁，超时返回 null
+     */
+    public Lock tryLock(String name, long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        return acquire(name, unit.toMillis(waitTime), unit.toMillis(leaseTime));
+    }
+
+    /**
+     * @return 由看门狗续期中的锁数量
+     */
+    public int getRenewingCount() {
+        return renewing.size();
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+    }
+
+    private Lock acquire(String name, long waitMillis, long lease) throws InterruptedException {
+        String key = keyPrefix + "{" + name + "}";
+        List<String> keys = Arrays.asList(key, key + ":fence");
+        String token = instanceId + ":" + sequence.incrementAndGet();
+        long deadline = System.currentTimeMillis() + waitMillis;
+        long retryInterval = 5;
+        while (true) {
+            Long fence = stringRedisTemplate.execute(LOCK, keys, token, String.valueOf(lease));
+            if (fence != null && fence > 0) {
+                return new Lock(name, key, token, fence);
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            // 退避加随机抖动，避免等待者同时重试
+            long sleep = Math.min(remaining, retryInterval + ThreadLocalRandom.current().nextLong(retryInterval));
+            TimeUnit.MILLISECONDS.sleep(sleep);
+            retryInterval = Math.min(retryInterval * 2, MAX_RETRY_INTERVAL_MILLIS);
+        }
+    }
+
+    private void startWatchdog() {
+        if (watchdogStarted.compareAndSet(false, true)) {
+            long period = Math.max(1, leaseMillis / 3);
+            watchdog.scheduleAtFixedRate(this::renewAll, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void renewAll() {
+        if (renewing.isEmpty()) {
+            return;
+        }
+        Collection<List<Lock>> groups;
+        try {
+            groups = groupBySlot(new ArrayList<>(renewing.values()));
+        } catch (Exception e) {
+            log.warn("renew redis locks failed, retry in next round", e);
+            return;
+        }
+        for (List<Lock> locks : groups) {
+            for (int from = 0; from < locks.size(); from += RENEW_BATCH_SIZE) {
+                List<Lock> batch = locks.subList(from, Math.min(from + RENEW_BATCH_SIZE, locks.size()));
+                try {
+                    renew(batch);
+                } catch (Exception e) {
+                    log.warn("renew {} redis locks failed, retry in next round", batch.size(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 集群模式下一次脚本调用的 key 必须在同一个 slot ，按 slot 分组；单机和哨兵不分组
+     */
+    private Collection<List<Lock>> groupBySlot(List<Lock> locks) {
+        if (cluster == null) {
+            cluster = stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> connection instanceof RedisClusterConnection);
+        }
+        if (!Boolean.TRUE.equals(cluster)) {
+            return Collections.singletonList(locks);
+        }
+        Map<Integer, List<Lock>> groups = new HashMap<>();
+        for (Lock lock : locks) {
+            groups.computeIfAbsent(SlotHash.getSlot(lock.key.getBytes(StandardCharsets.UTF_8)), slot -> new ArrayList<>()).add(lock);
+        }
+        return groups.values();
+    }
+
+    private void renew(List<Lock> batch) {
+        List<String> keys = new ArrayList<>(batch.size());
+        String[] args = new String[batch.size() + 1];
+        args[0] = String.valueOf(leaseMillis);
+        for (int i = 0; i < batch.size(); i++) {
+            keys.add(batch.get(i).key);
+            args[i + 1] = batch.get(i).token;
+        }
+        List<?> result = stringRedisTemplate.execute(RENEW, keys, (Object[]) args);
+        for (int i = 0; i < batch.size(); i++) {
+            Lock lock = batch.get(i);
+            if (result == null || !Long.valueOf(1L).equals(result.get(i))) {
+                // 已解锁的锁在这里也会失败，只把仍在续期表中的标记为丢失
+                if (renewing.remove(lock.key, lock)) {
+                    lock.held = false;
+                    log.warn("redis lock {} lost, fencing token {}", lock.name, lock.fencingToken);
+                }
+            }
+        }
+    }
+
+    /**
+     * 已持有的锁
+     */
+    public final class Lock implements AutoCloseable {
+
+        private final String name;
+
+        private final String key;
+
+        private final String token;
+
+        private final long fencingToken;
+
+        private volatile boolean held = true;
+
+        private Lock(String name, String key, String token, long fencingToken) {
+            this.name = name;
+            this.key = key;
+            this.token = token;
+            this.fencingToken = fencingToken;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return 栅栏令牌，同一个锁名称下严格递增
+         */
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        /**
+         * @return 是否仍持有；续期失败(锁已过期或被他人持有)后为 false
+         */
+        public boolean isHeld() {
+            return held;
+        }
+
+        /**
+         * 解锁，只删除自己持有的锁
+         * @return true:解锁成功，false:锁已过期或被他人持有
+         */
+        public boolean unlock() {
+            renewing.remove(key, this);
+            held = false;
+            Long deleted = stringRedisTemplate.execute(UNLOCK, Arrays.asList(key), token);
+            return deleted != null && deleted > 0;
+        }
+
+        @Override
+        public void close() {
+            unlock();
+        }
+    }
+
+}
@@ -0,0 +1,381 @@
+package com.geek.redis.sdk.service;
+
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 基于列表的可靠任务队列
+ * 结构：任务内容保存在哈希表「前缀{name}:jobs」(id -> 序列化后的任务)，待处理列表「前缀{name}」和处理中列表「前缀{name}:processing」只存放 id ，
+ *       有序集合「前缀{name}:deadlines」记录处理中任务的可见性截止时间。
+ * 入队：一次脚本调用写入一批任务。
+ * 取出：一次脚本调用 RPOPLPUSH 最多 prefetch 个 id 到处理中列表并记录截止时间，与任务内容一起返回，消费者崩溃也不会丢任务。
+ * 确认：一次脚本调用确认一批任务；超过可见性截止时间仍未确认的任务由 {@link #reap()} 放回待处理列表的队头重新投递。
+ * 注意：截止时间使用客户端时钟，各实例的时钟偏差会体现为可见性超时的误差；任务至少投递一次，处理逻辑需要幂等。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 21:20
+ * @version: 1.0
+ */
+@Slf4j
+public class ReliableQueue {
+
+    private static final RedisScript<Long> PUSH = new DefaultRedisScript<>(
+            "for i = 1, #ARGV, 2 do " +
+            "  redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1]) " +
+            "  redis.call('LPUSH', KEYS[1], ARGV[i]) " +
+            "end " +
+            "return redis.call('LLEN', KEYS[1])", Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POLL = new DefaultRedisScript<>(
+            "local result = {} " +
+            "for i = 1, tonumber(ARGV[1]) do " +
+            "  local id = redis.call('RPOPLPUSH', KEYS[1], KEYS[2]) " +
+            "  if not id then break end " +
+            "  local job = redis.call('HGET', KEYS[4], id) " +
+            // 已确认的任务被超时放回后内容已删除，直接丢弃
+            "  if job then " +
+            "    redis.call('ZADD', KEYS[3], ARGV[2], id) " +
+            "    result[#result + 1] = id " +
+            "    result[#result + 1] = job " +
+            "  else redis.call('LREM', KEYS[2], 1, id) end " +
+            "end " +
+            "return result", List.class);
+
+    private static final RedisScript<Long> ACK = new DefaultRedisScript<>(
+            "local n = 0 " +
+            "for i = 1, #ARGV do " +
+            "  n = n + redis.call('LREM', KEYS[1], 1, ARGV[i]) " +
+            "  redis.call('ZREM', KEYS[2], ARGV[i]) " +
+            "  redis.call('HDEL', KEYS[3], ARGV[i]) " +
+            "end " +
+            "return n", Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "local n = 0 " +
+            "for i = 1, #ARGV do " +
+            "  if redis.call('LREM', KEYS[2], 1, ARGV[i]) > 0 then " +
+            "    redis.call('ZREM', KEYS[3], ARGV[i]) " +
+            "    redis.call('RPUSH', KEYS[1], ARGV[i]) " +
+            "    n = n + 1 " +
+            "  end " +
+            "end " +
+            "return n", Long.class);
+
+    private static final RedisScript<Long> TOUCH = new DefaultRedisScript<>(
+            "local n = 0 " +
+            "for i = 2, #ARGV do " +
+            "  if redis.call('ZSCORE', KEYS[1], ARGV[i]) then redis.call('ZADD', KEYS[1], ARGV[1], ARGV[i]) n = n + 1 end " +
+            "end " +
+            "return n", Long.class);
+
+    private static final RedisScript<Long> REAP = new DefaultRedisScript<>(
+            "local ids = redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+            "for _, id in ipairs(ids) do " +
+            "  redis.call('ZREM', KEYS[3], id) " +
+            "  if redis.call('LREM', KEYS[2], 1, id) > 0 then redis.call('RPUSH', KEYS[1], id) end " +
+            "end " +
+            "return #ids", Long.class);
+
+    /**
+     * 单次入队脚本最多携带的任务数量，避免一次脚本执行过久
+     */
+    public static final int PUSH_BATCH_SIZE = 1000;
+
+    private static final RedisSerializer<byte[]> RAW = new RawSerializer();
+
+    private static final RedisSerializer<Long> LONG = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final String name;
+
+    private final RedisSdkProperties.Queue options;
+
+    private final List<String> allKeys;
+
+    /**
+     * @param redisTemplate 使用其 key / value 序列化器，任务格式与 RedisUtils 一致
+     * @param name 队列名称
+     * @param options 队列参数
+     */
+    public ReliableQueue(RedisTemplate<String, Object> redisTemplate, String name, RedisSdkProperties.Queue options) {
+        this.redisTemplate = redisTemplate;
+        this.name = name;
+        this.options = options;
+        String ready = options.getKeyPrefix() + "{" + name + "}";
+        this.allKeys = Arrays.asList(ready, ready + ":processing", ready + ":deadlines", ready + ":jobs");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 入队一个任务
+     * @param job 任务
+     * @return 任务 id
+     */
+    public String push(Object job) {
+        return push(Collections.singletonList(job)).get(0);
+    }
+
+    /**
+     * 批量入队，每 {@link #PUSH_BATCH_SIZE} 个任务一次往返
+     * @param jobs 任务
+     * @return 与 jobs 顺序一致的任务 id
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> push(Collection<?> jobs) {
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        List<String> keys = Arrays.asList(allKeys.get(0), allKeys.get(3));
+        List<String> ids = new ArrayList<>(jobs.size());
+        List<Object> args = new ArrayList<>(Math.min(jobs.size(), PUSH_BATCH_SIZE) * 2);
+        for (Object job : jobs) {
+            String id = UUID.randomUUID().toString().replace("-", "");
+            ids.add(id);
+            args.add(raw(id));
+            args.add(valueSerializer.serialize(job));
+            if (args.size() == PUSH_BATCH_SIZE * 2) {
+                redisTemplate.execute(PUSH, RAW, LONG, keys, args.toArray());
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            redisTemplate.execute(PUSH, RAW, LONG, keys, args.toArray());
+        }
+        return ids;
+    }
+
+    /**
+     * 取出最多 max 个任务并移入处理中列表，一次往返
+     * @param max 最多取出的数量
+     * @return 任务，队列为空时为空列表
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<Job> poll(int max) {
+        long deadline = System.currentTimeMillis() + options.getVisibilityTimeout().toMillis();
+        // 多条回复中的每个元素由结果序列化器解码，这里保持 byte[]
+        List<byte[]> result = redisTemplate.execute(POLL, RAW, (RedisSerializer<List>) (RedisSerializer<?>) RAW, allKeys, raw(max), raw(deadline));
+        if (result == null || result.isEmpty()) {
+            return Collections.emptyList();
+        }
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        List<Job> jobs = new ArrayList<>(result.size() / 2);
+        for (int i = 0; i + 1 < result.size(); i += 2) {
+            jobs.add(new Job(new String(result.get(i), StandardCharsets.UTF_8), valueSerializer.deserialize(result.get(i + 1))));
+        }
+        return jobs;
+    }
+
+    /**
+     * 批量确认，确认后任务被删除
+     * @param ids 任务 id
+     * @return 确认成功的数量；已超时放回的任务也会被删除，但不计入
+     */
+    public long ack(Collection<String> ids) {
+        return ids.isEmpty() ? 0 : execute(ACK, keys(1, 4), ids, null);
+    }
+
+    /**
+     * 把处理中的任务立即放回队头，不等待可见性超时
+     * @param ids 任务 id
+     * @return 放回的数量
+     */
+    public long release(Collection<String> ids) {
+        return ids.isEmpty() ? 0 : execute(RELEASE, keys(0, 3), ids, null);
+    }
+
+    /**
+     * 把处理中任务的可见性截止时间延长到现在起一个 visibilityTimeout ，用于处理时间较长的任务
+     * @param ids 任务 id
+     * @return 延长成功的数量；已超时放回或已确认的任务不计入
+     */
+    public long touch(Collection<String> ids) {
+        long deadline = System.currentTimeMillis() + options.getVisibilityTimeout().toMillis();
+        return ids.isEmpty() ? 0 : execute(TOUCH, keys(2, 3), ids, deadline);
+    }
+
+    /**
+     * 把超过可见性截止时间的任务放回队头，多个实例同时执行是安全的
+     * @return 放回的数量
+     */
+    public long reap() {
+        Long reaped = redisTemplate.execute(REAP, RAW, LONG, keys(0, 3), raw(System.currentTimeMillis()), raw(options.getReapBatchSize()));
+        return reaped == null ? 0 : reaped;
+    }
+
+    /**
+     * @return 待处理的任务数量
+     */
+    public Long size() {
+        return redisTemplate.opsForList().size(allKeys.get(0));
+    }
+
+    /**
+     * @return 处理中的任务数量
+     */
+    public Long processingSize() {
+        return redisTemplate.opsForList().size(allKeys.get(1));
+    }
+
+    /**
+     * 启动 workers 个消费线程，每个线程每次取出 prefetch 个任务，处理成功的任务批量确认，
+     * 处理失败的任务不确认，可见性超时后重新投递
+     * @param workers 线程数量
+     * @param handler 任务处理器
+     * @return 消费者，close() 后停止
+     */
+    public Workers consume(int workers, Consumer<Object> handler) {
+        return new Workers(workers, handler);
+    }
+
+    private long execute(RedisScript<Long> script, List<String> keys, Collection<String> ids, Long first) {
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        if (first != null) {
+            args.add(raw(first));
+        }
+        for (String id : ids) {
+            args.add(raw(id));
+        }
+        Long result = redisTemplate.execute(script, RAW, LONG, keys, args.toArray());
+        return result == null ? 0 : result;
+    }
+
+    private List<String> keys(int from, int to) {
+        return allKeys.subList(from, to);
+    }
+
+    private static byte[] raw(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 参数和结果原样传递
+     */
+    private static final class RawSerializer implements RedisSerializer<byte[]> {
+
+        @Override
+        public byte[] serialize(byte[] bytes) {
+            return bytes;
+        }
+
+        @Override
+        public byte[] deserialize(byte[] bytes) {
+            return bytes;
+        }
+    }
+
+    /**
+     * 取出的任务
+     */
+    public static final class Job {
+
+        private final String id;
+
+        private final Object payload;
+
+        Job(String id, Object payload) {
+            this.id = id;
+            this.payload = payload;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Object getPayload() {
+            return payload;
+        }
+    }
+
+    /**
+     * 一组消费线程
+     */
+    public final class Workers implements AutoCloseable {
+
+        private final List<Thread> threads = new ArrayList<>();
+
+        private final Consumer<Object> handler;
+
+        private volatile boolean running = true;
+
+        private Workers(int workers, Consumer<Object> handler) {
+            this.handler = handler;
+            for (int i = 0; i < workers; i++) {
+                Thread thread = new Thread(this::run, "redis-queue-" + name + "-" + i);
+                thread.setDaemon(true);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        private void run() {
+            while (running) {
+                try {
+                    List<Job> jobs = poll(options.getPrefetch());
+                    if (jobs.isEmpty()) {
+                        TimeUnit.MILLISECONDS.sleep(options.getIdleInterval().toMillis());
+                        continue;
+                    }
+                    List<String> done = new ArrayList<>(jobs.size());
+                    for (Job job : jobs) {
+                        try {
+                            handler.accept(job.getPayload());
+                            done.add(job.getId());
+                        } catch (Exception e) {
+                            log.warn("handle job {} of queue {} failed, redelivered after visibility timeout", job.getId(), name, e);
+                        }
+                    }
+                    ack(done);
+                } catch (InterruptedException e) {
+                    break;
+                } catch (Exception e) {
+                    if (!running) {
+                        break;
+                    }
+                    log.warn("consume queue {} failed, retry in 1s", name, e);
+                    sleep(TimeUnit.SECONDS.toMillis(1));
+                }
+            }
+        }
+
+        /**
+         * 停止取出新任务，等待已取出的任务处理并确认完毕；等待期间被中断时恢复中断标记并立即返回
+         */
+        @Override
+        public void close() {
+            running = false;
+            try {
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                running = false;
+            }
+        }
+    }
+
+}
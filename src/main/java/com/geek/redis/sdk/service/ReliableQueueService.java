@@ -0,0 +1,75 @@
+package com.geek.redis.sdk.service;
+
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 可靠任务队列的入口
+ * 按名称创建并缓存 {@link ReliableQueue} ，由一个共享的线程每隔 reapInterval 把所有已使用队列中可见性超时的任务放回队头。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 21:45
+ * @version: 1.0
+ */
+@Slf4j
+public class ReliableQueueService implements DisposableBean {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final RedisSdkProperties.Queue options;
+
+    private final Map<String, ReliableQueue> queues = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean reaperStarted = new AtomicBoolean();
+
+    private final ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "redis-queue-reaper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReliableQueueService(RedisTemplate<String, Object> redisTemplate, RedisSdkProperties.Queue options) {
+        this.redisTemplate = redisTemplate;
+        this.options = options;
+    }
+
+    /**
+     * @param name 队列名称
+     * @return 队列，同名返回同一个实例
+     */
+    public ReliableQueue queue(String name) {
+        ReliableQueue queue = queues.computeIfAbsent(name, n -> new ReliableQueue(redisTemplate, n, options));
+        if (reaperStarted.compareAndSet(false, true)) {
+            long period = options.getReapInterval().toMillis();
+            reaper.scheduleWithFixedDelay(this::reapAll, period, period, TimeUnit.MILLISECONDS);
+        }
+        return queue;
+    }
+
+    @Override
+    public void destroy() {
+        reaper.shutdownNow();
+    }
+
+    void reapAll() {
+        for (ReliableQueue queue : queues.values()) {
+            try {
+                long reaped = queue.reap();
+                if (reaped > 0) {
+                    log.warn("queue {} redelivered {} jobs after visibility timeout", queue.getName(), reaped);
+                }
+            } catch (Exception e) {
+                log.warn("reap queue {} failed, retry in next round", queue.getName(), e);
+            }
+        }
+    }
+
+}
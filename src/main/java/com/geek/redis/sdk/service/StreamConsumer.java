@@ -0,0 +1,261 @@
+package com.geek.redis.sdk.service;
+
+import com.geek.redis.sdk.bean.RedisMessage;
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import io.lettuce.core.Consumer;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams 消费组的消费者，一个实例对应一个线程和一条独占连接
+ * 启动时先读取自己名下未确认的消息(ID 从 0 开始)，处理完后用 XREADGROUP COUNT BLOCK 读取新消息；
+ * 一批消息处理完成后用一条 XACK 确认，处理失败的消息保持未确认。
+ * 每隔 reclaimInterval 用 XPENDING 检查本组空闲超过 minIdle 的消息，XCLAIM 到自己名下重新处理，
+ * 投递次数达到 maxDeliveries 的消息转入死信 stream 后确认。
+ * 多个实例使用同一个消费组、不同的消费者名称即可横向扩展。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 17:20
+ * @version: 1.0
+ */
+@Slf4j
+public class StreamConsumer implements InitializingBean, DisposableBean {
+
+    private static final String DEAD_SUFFIX = ":dead";
+
+    private final RedisClient redisClient;
+
+    private final byte[] stream;
+
+    private final byte[] group;
+
+    private final Consumer<byte[]> consumer;
+
+    private final AbstractMessageReceiver<? extends RedisMessage> receiver;
+
+    private final RedisSdkProperties.Stream options;
+
+    private final String name;
+
+    private volatile boolean running;
+
+    private StatefulRedisConnection<byte[], byte[]> connection;
+
+    private Thread worker;
+
+    /**
+     * @param redisClient 原生客户端
+     * @param stream stream 的 key
+     * @param consumerName 消费者名称，同一消费组内唯一
+     * @param receiver 消息接收者
+     * @param options 消费参数
+     */
+    public StreamConsumer(RedisClient redisClient, String stream, String consumerName, AbstractMessageReceiver<? extends RedisMessage> receiver,
+                          RedisSdkProperties.Stream options) {
+        this.redisClient = redisClient;
+        this.stream = stream.getBytes(StandardCharsets.UTF_8);
+        this.group = options.getGroup().getBytes(StandardCharsets.UTF_8);
+        this.consumer = Consumer.from(group, consumerName.getBytes(StandardCharsets.UTF_8));
+        this.receiver = receiver;
+        this.options = options;
+        this.name = stream + "/" + consumerName;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+        // 阻塞读取期间连接上不会有其他命令，超时时间需要覆盖 BLOCK
+        connection.setTimeout(connection.getTimeout().plus(options.getBlock()));
+        createGroup(connection.sync());
+        running = true;
+        worker = new Thread(this::run, "redis-stream-" + name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        worker.join(options.getBlock().toMillis() + TimeUnit.SECONDS.toMillis(5));
+        connection.close();
+    }
+
+    private void run() {
+        RedisCommands<byte[], byte[]> commands = connection.sync();
+        // 先处理自己名下上次未确认的消息
+        String pendingOffset = "0";
+        long nextReclaim = System.currentTimeMillis();
+        while (running) {
+            try {
+                if (pendingOffset != null) {
+                    @SuppressWarnings("unchecked")
+                    List<StreamMessage<byte[], byte[]>> messages = commands.xreadgroup(consumer,
+                            XReadArgs.Builder.count(options.getBatchSize()), XReadArgs.StreamOffset.from(stream, pendingOffset));
+                    if (messages.isEmpty()) {
+                        pendingOffset = null;
+                    } else {
+                        handle(commands, messages, null);
+                        pendingOffset = messages.get(messages.size() - 1).getId();
+                    }
+                    continue;
+                }
+                if (System.currentTimeMillis() >= nextReclaim) {
+                    reclaim(commands);
+                    nextReclaim = System.currentTimeMillis() + options.getReclaimInterval().toMillis();
+                }
+                @SuppressWarnings("unchecked")
+                List<StreamMessage<byte[], byte[]>> messages = commands.xreadgroup(consumer,
+                        XReadArgs.Builder.count(options.getBatchSize()).block(options.getBlock()), XReadArgs.StreamOffset.lastConsumed(stream));
+                handle(commands, messages, null);
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("consume stream {} failed, retry in 1s", name, e);
+                sleep(TimeUnit.SECONDS.toMillis(1));
+            }
+        }
+    }
+
+    /**
+     * 处理一批消息，成功的消息合并为一条 XACK
+     * @param deliveries 认领的消息的投递次数，为 null 时不检查
+     */
+    private void handle(RedisCommands<byte[], byte[]> commands, List<StreamMessage<byte[], byte[]>> messages, Map<String, Long> deliveries) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        List<String> acks = new ArrayList<>(messages.size());
+        for (StreamMessage<byte[], byte[]> message : messages) {
+            byte[] payload = payload(message);
+            if (payload == null) {
+                // 消息已被 MAXLEN 裁剪或 XDEL 删除
+                acks.add(message.getId());
+                continue;
+            }
+            Long delivered = deliveries == null ? null : deliveries.get(message.getId());
+            if (delivered != null && delivered >= options.getMaxDeliveries()) {
+                deadLetter(commands, message, payload, delivered);
+                acks.add(message.getId());
+                continue;
+            }
+            if (deliver(message.getId(), payload)) {
+                acks.add(message.getId());
+            }
+        }
+        if (!acks.isEmpty()) {
+            commands.xack(stream, group, acks.toArray(new String[0]));
+        }
+    }
+
+    private <T extends RedisMessage> boolean deliver(String id, byte[] payload) {
+        @SuppressWarnings("unchecked")
+        AbstractMessageReceiver<T> typed = (AbstractMessageReceiver<T>) receiver;
+        T decoded;
+        try {
+            decoded = typed.decode(payload);
+        } catch (Exception e) {
+            log.error("decode stream message {} {} failed, acknowledged without processing", name, id, e);
+            return true;
+        }
+        try {
+            if (decoded != null) {
+                typed.receiveMessage(decoded);
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("handle stream message {} {} failed, left pending for retry", name, id, e);
+            return false;
+        }
+    }
+
+    /**
+     * 认领本组其他消费者(包括已下线的)长时间未确认的消息
+     */
+    private void reclaim(RedisCommands<byte[], byte[]> commands) {
+        long minIdle = options.getMinIdle().toMillis();
+        List<Object> pending = commands.xpending(stream, group, Range.create("-", "+"), Limit.from(options.getBatchSize()));
+        Map<String, Long> deliveries = new HashMap<>(pending.size() * 2);
+        for (Object entry : pending) {
+            List<?> fields = (List<?>) entry;
+            long idle = (Long) fields.get(2);
+            if (idle >= minIdle) {
+                // XCLAIM 会把投递次数加一
+                deliveries.put(asString(fields.get(0)), (Long) fields.get(3) + 1);
+            }
+        }
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        List<StreamMessage<byte[], byte[]>> claimed = commands.xclaim(stream, consumer, minIdle, deliveries.keySet().toArray(new String[0]));
+        log.info("stream {} reclaimed {} idle messages", name, claimed.size());
+        handle(commands, claimed, deliveries);
+    }
+
+    private void deadLetter(RedisCommands<byte[], byte[]> commands, StreamMessage<byte[], byte[]> message, byte[] payload, long delivered) {
+        byte[] deadStream = (new String(stream, StandardCharsets.UTF_8) + DEAD_SUFFIX).getBytes(StandardCharsets.UTF_8);
+        commands.xadd(deadStream, new XAddArgs().maxlen(options.getMaxLen()).approximateTrimming(), StreamPublisher.PAYLOAD_FIELD, payload);
+        log.error("stream message {} {} delivered {} times, moved to dead letter stream", name, message.getId(), delivered);
+    }
+
+    /**
+     * XGROUP CREATE stream group $ MKSTREAM ，组已存在时忽略
+     * Lettuce 5.1 的 xgroupCreate 不支持 MKSTREAM ，这里直接发送命令
+     */
+    private void createGroup(RedisCommands<byte[], byte[]> commands) {
+        CommandArgs<byte[], byte[]> args = new CommandArgs<>(ByteArrayCodec.INSTANCE)
+                .add("CREATE").addKey(stream).addKey(group).add("$").add("MKSTREAM");
+        try {
+            commands.dispatch(CommandType.XGROUP, new StatusOutput<>(ByteArrayCodec.INSTANCE), args);
+        } catch (Exception e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private static byte[] payload(StreamMessage<byte[], byte[]> message) {
+        if (message.getBody() == null) {
+            return null;
+        }
+        for (Map.Entry<byte[], byte[]> field : message.getBody().entrySet()) {
+            if (Arrays.equals(StreamPublisher.PAYLOAD_FIELD, field.getKey())) {
+                return field.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String asString(Object value) {
+        return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
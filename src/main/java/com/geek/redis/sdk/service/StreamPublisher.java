@@ -0,0 +1,80 @@
+package com.geek.redis.sdk.service;
+
+import com.geek.redis.sdk.bean.RedisMessage;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 基于 Streams 的消息发布者，与 {@link Publisher} 相同的 RedisMessage 模型
+ * 消息序列化后作为 payload 字段 XADD 到 stream ，并按 MAXLEN ~ 近似裁剪；
+ * 消息在被消费组确认前一直保留，接收方重启或处理慢都不会丢失(超出 maxLen 被裁剪的除外)。
+ * 所有调用共用一条原生连接，并发的 XADD 由 Lettuce 自动流水线发送。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 17:10
+ * @version: 1.0
+ */
+public class StreamPublisher implements DisposableBean {
+
+    static final byte[] PAYLOAD_FIELD = "payload".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisClient redisClient;
+
+    private final RedisSerializer<Object> serializer;
+
+    private final XAddArgs addArgs;
+
+    private volatile StatefulRedisConnection<byte[], byte[]> connection;
+
+    /**
+     * @param redisClient 原生客户端
+     * @param serializer 消息序列化器，与接收方一致
+     * @param maxLen stream 保留的近似最大长度
+     */
+    public StreamPublisher(RedisClient redisClient, RedisSerializer<Object> serializer, long maxLen) {
+        this.redisClient = redisClient;
+        this.serializer = serializer;
+        this.addArgs = new XAddArgs().maxlen(maxLen).approximateTrimming();
+    }
+
+    /**
+     * 发布消息
+     * @param stream stream 的 key
+     * @param message 消息
+     * @return 消息 ID
+     */
+    public CompletableFuture<String> pushMessage(String stream, RedisMessage message) {
+        return connection().async()
+                .xadd(stream.getBytes(StandardCharsets.UTF_8), addArgs, Collections.singletonMap(PAYLOAD_FIELD, serializer.serialize(message)))
+                .toCompletableFuture();
+    }
+
+    @Override
+    public void destroy() {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    private StatefulRedisConnection<byte[], byte[]> connection() {
+        StatefulRedisConnection<byte[], byte[]> current = connection;
+        if (current == null) {
+            synchronized (this) {
+                current = connection;
+                if (current == null) {
+                    current = redisClient.connect(ByteArrayCodec.INSTANCE);
+                    connection = current;
+                }
+            }
+        }
+        return current;
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.geek.redis.sdk.service;
 
-import com.alibaba.fastjson.JSON;
+import com.geek.redis.sdk.bean.UserMessage;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -9,9 +9,14 @@ import lombok.extern.slf4j.Slf4j;
  * @version: 1.0
  */
 @Slf4j
-public class UserReceiver extends AbstractReceiver {
+public class UserReceiver extends AbstractMessageReceiver<UserMessage> {
+
+    public UserReceiver() {
+        super(UserMessage.class);
+    }
+
     @Override
-    public void receiveMessage(Object message) {
-        System.out.println("接收到用户消息：" + JSON.toJSONString(message));
+    public void receiveMessage(UserMessage message) {
+        log.info("接收到用户消息：{}", message);
     }
 }
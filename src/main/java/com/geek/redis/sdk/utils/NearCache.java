@@ -0,0 +1,273 @@
+package com.geek.redis.sdk.utils;
+
+import org.springframework.util.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内近端缓存(L1)
+ * 缓存 RedisUtils.get / hget 已经反序列化好的对象，按 key 数量(LRU)和写入后的存活时间淘汰。
+ * 以 Redis 的 key 为失效单位：同一个 key 的值和它所有哈希域一起失效，与 DEL / 键空间通知的粒度一致。
+ * 为避免「读到旧值后，在写操作失效之后才放入缓存」的竞争，读取前先取分段版本号，放入时版本号变化则放弃缓存。
+ * 注意：缓存返回的是共享对象，调用方不能修改。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 13:20
+ * @version: 1.0
+ */
+public class NearCache {
+
+    private static final int SEGMENTS = 16;
+
+    /**
+     * 单个哈希 key 最多缓存的域数量，超出后不再缓存新的域
+     */
+    private static final int MAX_FIELDS_PER_KEY = 1024;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final long ttlNanos;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private volatile InvalidationListener invalidationListener;
+
+    /**
+     * @param maximumSize 最多缓存的 key 数量
+     * @param ttlMillis 写入后的存活时间(毫秒)
+     */
+    public NearCache(int maximumSize, long ttlMillis) {
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+        Assert.isTrue(ttlMillis > 0, "ttlMillis must be greater than 0");
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        int perSegment = Math.max(1, (maximumSize + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * 读取 key 对应的缓存值
+     * @param key 键
+     * @return 缓存值，未命中返回 null
+     */
+    public Object get(String key) {
+        Entry entry = segmentFor(key).get(key);
+        Object value = entry == null ? null : entry.value;
+        record(value != null);
+        return value;
+    }
+
+    /**
+     * 读取哈希 key 中 field 对应的缓存值
+     * @param key 键
+     * @param field 域
+     * @return 缓存值，未命中返回 null
+     */
+    public Object getField(String key, Object field) {
+        Entry entry = segmentFor(key).get(key);
+        Object value = entry == null || entry.fields == null ? null : entry.fields.get(field);
+        record(value != null);
+        return value;
+    }
+
+    /**
+     * 读取 Redis 之前获取版本号，放入缓存时需要带上
+     * @param key 键
+     * @return 当前版本号
+     */
+    public long stamp(String key) {
+        return segmentFor(key).version;
+    }
+
+    /**
+     * 放入 key 的值，null 不缓存
+     * @param key 键
+     * @param value 从 Redis 读取到的值
+     * @param stamp 读取前通过 {@link #stamp(String)} 获取的版本号
+     */
+    public void put(String key, Object value, long stamp) {
+        if (value != null) {
+            segmentFor(key).put(key, stamp, entry -> entry.value = value);
+        }
+    }
+
+    /**
+     * 放入哈希 key 中 field 的值，null 不缓存
+     * @param key 键
+     * @param field 域
+     * @param value 从 Redis 读取到的值
+     * @param stamp 读取前通过 {@link #stamp(String)} 获取的版本号
+     */
+    public void putField(String key, Object field, Object value, long stamp) {
+        if (value != null) {
+            segmentFor(key).put(key, stamp, entry -> {
+                if (entry.fields == null) {
+                    entry.fields = new ConcurrentHashMap<>();
+                }
+                if (entry.fields.size() < MAX_FIELDS_PER_KEY) {
+                    entry.fields.put(field, value);
+                }
+            });
+        }
+    }
+
+    /**
+     * 本节点写入 key 之后调用：移除本地缓存并通知 {@link InvalidationListener}
+     * @param key 键
+     */
+    public void invalidate(String key) {
+        evict(key);
+        InvalidationListener listener = invalidationListener;
+        if (listener != null) {
+            listener.onInvalidate(key);
+        }
+    }
+
+    /**
+     * 只移除本地缓存，不通知监听器，用于处理其他节点发来的失效消息
+     * @param key 键
+     */
+    public void evict(String key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void evictAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public void setInvalidationListener(InvalidationListener invalidationListener) {
+        this.invalidationListener = invalidationListener;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return 因容量或过期被淘汰的条目数，不包含主动失效
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private void record(boolean hit) {
+        if (hit) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * 本节点写入后的失效回调，用于把失效广播到其他节点
+     */
+    public interface InvalidationListener {
+
+        void onInvalidate(String key);
+    }
+
+    private static final class Entry {
+
+        private final long expireAt;
+
+        private volatile Object value;
+
+        private volatile Map<Object, Object> fields;
+
+        private Entry(long expireAt) {
+            this.expireAt = expireAt;
+        }
+    }
+
+    private interface EntryUpdater {
+
+        void update(Entry entry);
+    }
+
+    private final class Segment {
+
+        private final LinkedHashMap<String, Entry> map;
+
+        private volatile long version;
+
+        @SuppressWarnings("serial")
+        private Segment(int capacity) {
+            this.map = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private synchronized Entry get(String key) {
+            Entry entry = map.get(key);
+            if (entry != null && System.nanoTime() - entry.expireAt > 0) {
+                map.remove(key);
+                evictionCount.increment();
+                return null;
+            }
+            return entry;
+        }
+
+        private synchronized void put(String key, long stamp, EntryUpdater updater) {
+            if (stamp != version) {
+                return;
+            }
+            Entry entry = map.get(key);
+            if (entry == null || System.nanoTime() - entry.expireAt > 0) {
+                entry = new Entry(System.nanoTime() + ttlNanos);
+                map.put(key, entry);
+            }
+            updater.update(entry);
+        }
+
+        private synchronized void remove(String key) {
+            version++;
+            map.remove(key);
+        }
+
+        private synchronized void clear() {
+            version++;
+            map.clear();
+        }
+
+        private synchronized int size() {
+            return map.size();
+        }
+    }
+
+}
@@ -0,0 +1,701 @@
+package com.geek.redis.sdk.utils;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Redis 异步工具类
+ * 与 RedisUtils 对应的 CompletableFuture 版本，所有命令在一条共享的 Lettuce 连接上异步发送，调用线程不等待回复，
+ * 少量 I/O 线程即可支撑大量并发请求，Redis 延迟抖动时不会占满业务线程。
+ * key、值、哈希域使用 RedisTemplate 的序列化器，与 RedisUtils 读写的数据互通；可选的近端缓存与 RedisUtils 共用。
+ * 注意：回调(thenApply 等)默认在 Lettuce 的 I/O 线程上执行，回调中不要做阻塞操作，需要阻塞时使用 thenApplyAsync 等方法切换到业务线程池；
+ *      共享连接上不能执行阻塞命令(BLPOP 等)和事务。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 19:10
+ * @version: 1.0
+ */
+public final class RedisAsyncUtils implements DisposableBean {
+
+    private static final String OK = "OK";
+
+    @Autowired
+    private RedisTemplate<String,Object> redisTemplate;
+
+    /**
+     * 原生单机/哨兵客户端，集群模式下不存在，此时调用任何命令都会抛出 IllegalStateException
+     */
+    @Autowired(required = false)
+    private RedisClient redisNativeClient;
+
+    /**
+     * 可选的近端缓存，存在时 get / hget 优先读取本地，写操作完成后使本地对应的 key 失效
+     */
+    @Autowired(required = false)
+    private NearCache nearCache;
+
+    private volatile StatefulRedisConnection<byte[], byte[]> connection;
+
+    @Override
+    public void destroy() {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    //=============================Key操作============================
+
+    /**
+     * DEL key [key ...]
+     * 功能描述：删除给定的一个或多个 key 。不存在的 key 会被忽略。
+     * 时间复杂度：O(N)， N 为被删除的 key 的数量。
+     * @param keys 键
+     * @return 被删除 key 的数量
+     */
+    public CompletableFuture<Long> del(String... keys) {
+        return invalidating(commands().del(rawKeys(keys)), keys);
+    }
+
+    /**
+     * EXISTS key
+     * 功能描述：检查给定 key 是否存在。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return true:存在，false:不存在
+     */
+    public CompletableFuture<Boolean> exists(String key) {
+        return future(commands().exists(rawKey(key))).thenApply(count -> count != null && count > 0);
+    }
+
+    /**
+     * EXPIRE key seconds
+     * 功能描述：为给定 key 设置生存时间。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param time 时间(秒)
+     * @return true:设置成功，false:key 不存在
+     */
+    public CompletableFuture<Boolean> expire(String key, long time) {
+        return future(commands().expire(rawKey(key), time));
+    }
+
+    /**
+     * TTL key
+     * 功能描述：以秒为单位，返回给定 key 的剩余生存时间。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 剩余生存时间(秒)，-1:没有设置过期时间，-2:key 不存在
+     */
+    public CompletableFuture<Long> ttl(String key) {
+        return future(commands().ttl(rawKey(key)));
+    }
+
+    //=============================String操作============================
+
+    /**
+     * GET key
+     * 功能描述：返回 key 所关联的值，近端缓存命中时直接返回已完成的 future 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 值，key 不存在时为 null
+     */
+    public CompletableFuture<Object> get(String key) {
+        if (nearCache == null) {
+            return future(commands().get(rawKey(key))).thenApply(this::deserializeValue);
+        }
+        Object cached = nearCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long stamp = nearCache.stamp(key);
+        return future(commands().get(rawKey(key))).thenApply(bytes -> {
+            Object value = deserializeValue(bytes);
+            nearCache.put(key, value, stamp);
+            return value;
+        });
+    }
+
+    /**
+     * SET key value
+     * 功能描述：将值 value 关联到 key 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param value 值
+     * @return true:成功
+     */
+    public CompletableFuture<Boolean> set(String key, Object value) {
+        return invalidating(ok(commands().set(rawKey(key), rawValue(value))), key);
+    }
+
+    /**
+     * SETEX key seconds value
+     * 功能描述：将值 value 关联到 key ，并设置生存时间。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param value 值
+     * @param time 时间(秒)，小于等于0时不设置过期时间
+     * @return true:成功
+     */
+    public CompletableFuture<Boolean> setEx(String key, Object value, long time) {
+        if (time <= 0) {
+            return set(key, value);
+        }
+        return invalidating(ok(commands().setex(rawKey(key), time, rawValue(value))), key);
+    }
+
+    /**
+     * SET key value EX seconds NX
+     * 功能描述：仅在 key 不存在时设置值和生存时间。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param value 值
+     * @param time 时间(秒)，小于等于0时不设置过期时间
+     * @return true:设置成功，false:key 已存在
+     */
+    public CompletableFuture<Boolean> setNX(String key, Object value, long time) {
+        SetArgs args = time > 0 ? SetArgs.Builder.nx().ex(time) : SetArgs.Builder.nx();
+        return invalidating(ok(commands().set(rawKey(key), rawValue(value), args)), key);
+    }
+
+    /**
+     * MGET key [key ...]
+     * 功能描述：返回所有给定 key 的值，不存在的 key 对应 null 。
+     * 时间复杂度：O(N)， N 为给定 key 的数量。
+     * @param keys 键
+     * @return 与 keys 顺序一致的值列表
+     */
+    public CompletableFuture<List<Object>> mGet(Collection<String> keys) {
+        return future(commands().mget(rawKeys(keys.toArray(new String[0])))).thenApply(this::values);
+    }
+
+    /**
+     * MSET key value [key value ...]
+     * 功能描述：同时设置一个或多个 key-value 对，原子操作。
+     * 时间复杂度：O(N)， N 为要设置的 key 数量。
+     * @param map 键值对
+     * @return true:成功
+     */
+    public CompletableFuture<Boolean> mSet(Map<String,Object> map) {
+        Map<byte[], byte[]> raw = new LinkedHashMap<>(map.size() * 2);
+        map.forEach((key, value) -> raw.put(rawKey(key), rawValue(value)));
+        return invalidating(ok(commands().mset(raw)), map.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * INCR key
+     * 功能描述：将 key 中储存的数字值增一。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 自增后的值
+     */
+    public CompletableFuture<Long> incr(String key) {
+        return invalidating(commands().incr(rawKey(key)), key);
+    }
+
+    /**
+     * INCRBY key increment
+     * 功能描述：将 key 所储存的值加上增量 delta 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param delta 增量
+     * @return 自增后的值
+     */
+    public CompletableFuture<Long> incrBy(String key, long delta) {
+        return invalidating(commands().incrby(rawKey(key), delta), key);
+    }
+
+    //=============================Hash操作============================
+
+    /**
+     * HGET key field
+     * 功能描述：返回哈希表 key 中给定域 field 的值，近端缓存命中时直接返回已完成的 future 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param field 域
+     * @return 值，域或 key 不存在时为 null
+     */
+    public CompletableFuture<Object> hget(String key, String field) {
+        if (nearCache == null) {
+            return future(commands().hget(rawKey(key), rawHashKey(field))).thenApply(this::deserializeHashValue);
+        }
+        Object cached = nearCache.getField(key, field);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long stamp = nearCache.stamp(key);
+        return future(commands().hget(rawKey(key), rawHashKey(field))).thenApply(bytes -> {
+            Object value = deserializeHashValue(bytes);
+            nearCache.putField(key, field, value, stamp);
+            return value;
+        });
+    }
+
+    /**
+     * HSET key field value
+     * 功能描述：将哈希表 key 中的域 field 的值设为 value 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param item 域
+     * @param value 值
+     * @return true:新建的域，false:覆盖已有的域
+     */
+    public CompletableFuture<Boolean> hset(String key, String item, Object value) {
+        return invalidating(commands().hset(rawKey(key), rawHashKey(item), rawHashValue(value)), key);
+    }
+
+    /**
+     * HMSET key field value [field value ...]
+     * 功能描述：同时将多个 field-value 对设置到哈希表 key 中。
+     * 时间复杂度：O(N)， N 为 field-value 对的数量。
+     * @param key 键
+     * @param map 域值对
+     * @return true:成功
+     */
+    public CompletableFuture<Boolean> hMSet(String key, Map<String,Object> map) {
+        Map<byte[], byte[]> raw = new LinkedHashMap<>(map.size() * 2);
+        map.forEach((field, value) -> raw.put(rawHashKey(field), rawHashValue(value)));
+        return invalidating(ok(commands().hmset(rawKey(key), raw)), key);
+    }
+
+    /**
+     * HGETALL key
+     * 功能描述：返回哈希表 key 中，所有的域和值。
+     * 时间复杂度：O(N)， N 为哈希表的大小。
+     * @param key 键
+     * @return 域值对，key 不存在时为空 Map
+     */
+    public CompletableFuture<Map<Object,Object>> hGetAll(String key) {
+        return future(commands().hgetall(rawKey(key))).thenApply(raw -> {
+            Map<Object,Object> result = new LinkedHashMap<>(raw.size() * 2);
+            raw.forEach((field, value) -> result.put(deserializeHashKey(field), deserializeHashValue(value)));
+            return result;
+        });
+    }
+
+    /**
+     * HMGET key field [field ...]
+     * 功能描述：返回哈希表 key 中，一个或多个给定域的值。
+     * 时间复杂度：O(N)， N 为给定域的数量。
+     * @param key 键
+     * @param hashKeys 域
+     * @return 与 hashKeys 顺序一致的值列表
+     */
+    public CompletableFuture<List<Object>> hMGet(String key, Collection<Object> hashKeys) {
+        byte[][] fields = new byte[hashKeys.size()][];
+        int i = 0;
+        for (Object hashKey : hashKeys) {
+            fields[i++] = rawHashKey(hashKey);
+        }
+        return future(commands().hmget(rawKey(key), fields)).thenApply(this::hashValues);
+    }
+
+    /**
+     * HDEL key field [field ...]
+     * 功能描述：删除哈希表 key 中的一个或多个指定域，不存在的域将被忽略。
+     * 时间复杂度：O(N)， N 为要删除的域的数量。
+     * @param key 键
+     * @param fields 域
+     * @return 被成功移除的域的数量
+     */
+    public CompletableFuture<Long> hdel(String key, Object... fields) {
+        byte[][] raw = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            raw[i] = rawHashKey(fields[i]);
+        }
+        return invalidating(commands().hdel(rawKey(key), raw), key);
+    }
+
+    /**
+     * HINCRBY key field increment
+     * 功能描述：为哈希表 key 中的域 field 的值加上增量 delta 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param item 域
+     * @param delta 增量
+     * @return 自增后的值
+     */
+    public CompletableFuture<Long> hIncrBy(String key, String item, long delta) {
+        return invalidating(commands().hincrby(rawKey(key), rawHashKey(item), delta), key);
+    }
+
+    /**
+     * HEXISTS key field
+     * 功能描述：查看哈希表 key 中，给定域 field 是否存在。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param field 域
+     * @return true:存在，false:不存在
+     */
+    public CompletableFuture<Boolean> hExists(String key, String field) {
+        return future(commands().hexists(rawKey(key), rawHashKey(field)));
+    }
+
+    //=============================List操作============================
+
+    /**
+     * LPUSH key value [value ...]
+     * 功能描述：将一个或多个值插入到列表 key 的表头。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param values 值
+     * @return 执行后列表的长度
+     */
+    public CompletableFuture<Long> lPush(String key, Object... values) {
+        return invalidating(commands().lpush(rawKey(key), rawValues(values)), key);
+    }
+
+    /**
+     * RPUSH key value [value ...]
+     * 功能描述：将一个或多个值插入到列表 key 的表尾。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param values 值
+     * @return 执行后列表的长度
+     */
+    public CompletableFuture<Long> rPush(String key, Object... values) {
+        return invalidating(commands().rpush(rawKey(key), rawValues(values)), key);
+    }
+
+    /**
+     * LPOP key
+     * 功能描述：移除并返回列表 key 的头元素。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 头元素，key 不存在时为 null
+     */
+    public CompletableFuture<Object> lPop(String key) {
+        return invalidating(commands().lpop(rawKey(key)), key).thenApply(this::deserializeValue);
+    }
+
+    /**
+     * RPOP key
+     * 功能描述：移除并返回列表 key 的尾元素。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 尾元素，key 不存在时为 null
+     */
+    public CompletableFuture<Object> rPop(String key) {
+        return invalidating(commands().rpop(rawKey(key)), key).thenApply(this::deserializeValue);
+    }
+
+    /**
+     * LRANGE key start stop
+     * 功能描述：返回列表 key 中指定区间内的元素。
+     * 时间复杂度：O(S+N)， S 为偏移量 start ， N 为指定区间内元素的数量。
+     * @param key 键
+     * @param start 开始
+     * @param end 结束，-1 代表所有值
+     * @return 区间内的元素
+     */
+    public CompletableFuture<List<Object>> lRange(String key, long start, long end) {
+        return future(commands().lrange(rawKey(key), start, end)).thenApply(raw -> deserializeValues(raw, new ArrayList<>(raw.size())));
+    }
+
+    /**
+     * LLEN key
+     * 功能描述：返回列表 key 的长度。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 列表长度
+     */
+    public CompletableFuture<Long> lLen(String key) {
+        return future(commands().llen(rawKey(key)));
+    }
+
+    /**
+     * LTRIM key start stop
+     * 功能描述：只保留列表 key 指定区间内的元素。
+     * 时间复杂度：O(N)， N 为被移除的元素的数量。
+     * @param key 键
+     * @param start 开始
+     * @param end 结束
+     * @return true:成功
+     */
+    public CompletableFuture<Boolean> lTrim(String key, long start, long end) {
+        return invalidating(ok(commands().ltrim(rawKey(key), start, end)), key);
+    }
+
+    //=============================Set操作============================
+
+    /**
+     * SADD key member [member ...]
+     * 功能描述：将一个或多个 member 元素加入到集合 key 当中，已经存在于集合的 member 元素将被忽略。
+     * 时间复杂度：O(N)， N 是被添加的元素的数量。
+     * @param key 键
+     * @param values 值
+     * @return 被添加到集合中的新元素的数量
+     */
+    public CompletableFuture<Long> sAdd(String key, Object... values) {
+        return invalidating(commands().sadd(rawKey(key), rawValues(values)), key);
+    }
+
+    /**
+     * SREM key member [member ...]
+     * 功能描述：移除集合 key 中的一个或多个 member 元素，不存在的 member 元素会被忽略。
+     * 时间复杂度：O(N)， N 为给定 member 元素的数量。
+     * @param key 键
+     * @param values 值
+     * @return 被成功移除的元素的数量
+     */
+    public CompletableFuture<Long> sRem(String key, Object... values) {
+        return invalidating(commands().srem(rawKey(key), rawValues(values)), key);
+    }
+
+    /**
+     * SISMEMBER key member
+     * 功能描述：判断 member 元素是否集合 key 的成员。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param o 值
+     * @return true:是成员，false:不是成员或 key 不存在
+     */
+    public CompletableFuture<Boolean> sIsMember(String key, Object o) {
+        return future(commands().sismember(rawKey(key), rawValue(o)));
+    }
+
+    /**
+     * SMEMBERS key
+     * 功能描述：返回集合 key 中的所有成员。
+     * 时间复杂度：O(N)， N 为集合的基数。
+     * @param key 键
+     * @return 集合中的所有成员
+     */
+    public CompletableFuture<Set<Object>> sMembers(String key) {
+        return future(commands().smembers(rawKey(key))).thenApply(raw -> deserializeValues(raw, new LinkedHashSet<>(raw.size() * 2)));
+    }
+
+    /**
+     * SCARD key
+     * 功能描述：返回集合 key 的基数(集合中元素的数量)。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 集合的基数
+     */
+    public CompletableFuture<Long> sCard(String key) {
+        return future(commands().scard(rawKey(key)));
+    }
+
+    //=============================SortedSet操作============================
+
+    /**
+     * ZADD key score member
+     * 功能描述：将 member 元素及其 score 值加入到有序集 key 当中，已经是成员时更新 score 。
+     * 时间复杂度：O(log(N))
+     * @param key 键
+     * @param value 成员
+     * @param score 分值
+     * @return true:新增成员，false:更新已有成员的 score
+     */
+    public CompletableFuture<Boolean> zAdd(String key, Object value, double score) {
+        return invalidating(commands().zadd(rawKey(key), score, rawValue(value)), key).thenApply(added -> added != null && added > 0);
+    }
+
+    /**
+     * ZREM key member [member ...]
+     * 功能描述：移除有序集 key 中的一个或多个成员，不存在的成员将被忽略。
+     * 时间复杂度：O(M*log(N))， N 为有序集的基数， M 为被成功移除的成员的数量。
+     * @param key 键
+     * @param values 成员
+     * @return 被成功移除的成员的数量
+     */
+    public CompletableFuture<Long> remove(String key, Object... values) {
+        return invalidating(commands().zrem(rawKey(key), rawValues(values)), key);
+    }
+
+    /**
+     * ZSCORE key member
+     * 功能描述：返回有序集 key 中，成员 member 的 score 值。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param o 成员
+     * @return score 值，成员或 key 不存在时为 null
+     */
+    public CompletableFuture<Double> score(String key, Object o) {
+        return future(commands().zscore(rawKey(key), rawValue(o)));
+    }
+
+    /**
+     * ZINCRBY key increment member
+     * 功能描述：为有序集 key 的成员 member 的 score 值加上增量 delta 。
+     * 时间复杂度：O(log(N))
+     * @param key 键
+     * @param value 成员
+     * @param delta 增量
+     * @return 成员新的 score 值
+     */
+    public CompletableFuture<Double> zIncrBy(String key, Object value, double delta) {
+        return invalidating(commands().zincrby(rawKey(key), delta, rawValue(value)), key);
+    }
+
+    /**
+     * ZRANGE key start stop
+     * 功能描述：返回有序集 key 中，指定区间内的成员，按 score 值递增排列。
+     * 时间复杂度：O(log(N)+M)， N 为有序集的基数， M 为结果集的基数。
+     * @param key 键
+     * @param start 开始
+     * @param end 结束，-1 代表所有成员
+     * @return 区间内的成员
+     */
+    public CompletableFuture<Set<Object>> range(String key, long start, long end) {
+        return future(commands().zrange(rawKey(key), start, end)).thenApply(raw -> deserializeValues(raw, new LinkedHashSet<>(raw.size() * 2)));
+    }
+
+    /**
+     * ZRANGEBYSCORE key min max
+     * 功能描述：返回有序集 key 中，所有 score 值介于 min 和 max 之间(包括等于 min 或 max )的成员，按 score 值递增排列。
+     * 时间复杂度：O(log(N)+M)， N 为有序集的基数， M 为结果集的基数。
+     * @param key 键
+     * @param min 最小分值
+     * @param max 最大分值
+     * @return 区间内的成员
+     */
+    public CompletableFuture<Set<Object>> rangeByScore(String key, double min, double max) {
+        return future(commands().zrangebyscore(rawKey(key), Range.create(min, max)))
+                .thenApply(raw -> deserializeValues(raw, new LinkedHashSet<>(raw.size() * 2)));
+    }
+
+    /**
+     * ZCARD key
+     * 功能描述：返回有序集 key 的基数。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 有序集的基数
+     */
+    public CompletableFuture<Long> zCard(String key) {
+        return future(commands().zcard(rawKey(key)));
+    }
+
+    //=============================内部方法============================
+
+    /**
+     * 共享的异步连接，首次使用时创建；Lettuce 连接线程安全，命令在连接上按顺序流水线发送
+     */
+    private RedisAsyncCommands<byte[], byte[]> commands() {
+        StatefulRedisConnection<byte[], byte[]> current = connection;
+        if (current == null) {
+            synchronized (this) {
+                current = connection;
+                if (current == null) {
+                    Assert.state(redisNativeClient != null, "RedisAsyncUtils requires a standalone or sentinel Redis and is not supported with spring.redis.cluster.nodes");
+                    current = redisNativeClient.connect(ByteArrayCodec.INSTANCE);
+                    connection = current;
+                }
+            }
+        }
+        return current.async();
+    }
+
+    private static <T> CompletableFuture<T> future(CompletionStage<T> stage) {
+        return stage.toCompletableFuture();
+    }
+
+    private static CompletableFuture<Boolean> ok(CompletionStage<String> stage) {
+        return future(stage).thenApply(OK::equals);
+    }
+
+    /**
+     * 写命令完成(成功或失败)后使近端缓存中的 key 失效
+     */
+    private <T> CompletableFuture<T> invalidating(CompletionStage<T> stage, String... keys) {
+        CompletableFuture<T> future = future(stage);
+        if (nearCache == null) {
+            return future;
+        }
+        return future.whenComplete((result, e) -> {
+            for (String key : keys) {
+                nearCache.invalidate(key);
+            }
+        });
+    }
+
+    private List<Object> values(List<KeyValue<byte[], byte[]>> raw) {
+        List<Object> result = new ArrayList<>(raw.size());
+        for (KeyValue<byte[], byte[]> keyValue : raw) {
+            result.add(keyValue.hasValue() ? deserializeValue(keyValue.getValue()) : null);
+        }
+        return result;
+    }
+
+    private List<Object> hashValues(List<KeyValue<byte[], byte[]>> raw) {
+        List<Object> result = new ArrayList<>(raw.size());
+        for (KeyValue<byte[], byte[]> keyValue : raw) {
+            result.add(keyValue.hasValue() ? deserializeHashValue(keyValue.getValue()) : null);
+        }
+        return result;
+    }
+
+    private <C extends Collection<Object>> C deserializeValues(Collection<byte[]> raw, C result) {
+        for (byte[] bytes : raw) {
+            result.add(deserializeValue(bytes));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    private byte[][] rawKeys(String... keys) {
+        byte[][] raw = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            raw[i] = rawKey(keys[i]);
+        }
+        return raw;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    private byte[][] rawValues(Object... values) {
+        byte[][] raw = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            raw[i] = rawValue(values[i]);
+        }
+        return raw;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawHashKey(Object hashKey) {
+        return ((RedisSerializer<Object>) redisTemplate.getHashKeySerializer()).serialize(hashKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawHashValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getHashValueSerializer()).serialize(value);
+    }
+
+    private Object deserializeValue(byte[] bytes) {
+        return bytes == null ? null : redisTemplate.getValueSerializer().deserialize(bytes);
+    }
+
+    private Object deserializeHashKey(byte[] bytes) {
+        return bytes == null ? null : redisTemplate.getHashKeySerializer().deserialize(bytes);
+    }
+
+    private Object deserializeHashValue(byte[] bytes) {
+        return bytes == null ? null : redisTemplate.getHashValueSerializer().deserialize(bytes);
+    }
+
+}
@@ -0,0 +1,302 @@
+package com.geek.redis.sdk.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.util.Assert;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Redis 批量(pipeline)工具类
+ * 与 RedisUtils 的命令一一对应，但不会每条命令都等待一次网络往返(RTT)：
+ * 先把命令收集到 {@link Batch} 中，再通过 RedisTemplate 的 pipeline 一次性 flush，结果按提交顺序返回。
+ * 命令数量超过 chunkSize 时按段 flush，避免客户端一次缓存过多的命令与结果。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 10:12
+ * @version: 1.0
+ */
+public final class RedisBatchUtils {
+
+    /**
+     * 默认每段 pipeline 携带的命令数
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private RedisTemplate<String,Object> redisTemplate;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 设置每段 pipeline 携带的命令数
+     * @param chunkSize 必须大于0
+     */
+    public void setChunkSize(int chunkSize) {
+        Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 创建一个新的批次，批次不是线程安全的，每个线程应使用自己的批次。
+     * @return 空批次
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    //=============================常用批量操作============================
+
+    /**
+     * 批量 GET key
+     * 功能描述：与 MGET 相比，超大批量时会按 chunkSize 分段发送，避免单条命令过大阻塞 Redis。
+     * @param keys 多个键
+     * @return 与 keys 顺序一致的值列表，不存在的 key 对应 null
+     */
+    public List<Object> get(Collection<String> keys) {
+        Batch batch = batch();
+        keys.forEach(batch::get);
+        return batch.execute();
+    }
+
+    /**
+     * 批量 SETEX key seconds value
+     * @param map 对应多个键值
+     * @param time 时间(秒) time要大于0 如果time小于等于0 将设置无限期
+     */
+    public void setEx(Map<String,Object> map, long time) {
+        Batch batch = batch();
+        map.forEach((key, value) -> batch.setEx(key, value, time));
+        batch.execute();
+    }
+
+    /**
+     * 批量 EXPIRE key seconds
+     * @param keys 多个键
+     * @param time 时间(秒)
+     * @return 与 keys 顺序一致的设置结果
+     */
+    public List<Boolean> expire(Collection<String> keys, long time) {
+        Batch batch = batch();
+        keys.forEach(key -> batch.expire(key, time));
+        return batch.execute(Boolean.class);
+    }
+
+    /**
+     * 批量 HGET key field
+     * @param keys 多个哈希表的键
+     * @param field 域
+     * @return 与 keys 顺序一致的域值列表
+     */
+    public List<Object> hget(Collection<String> keys, String field) {
+        Batch batch = batch();
+        keys.forEach(key -> batch.hget(key, field));
+        return batch.execute();
+    }
+
+    /**
+     * 批量 HGETALL key
+     * @param keys 多个哈希表的键
+     * @return 以 key 为键、哈希表内容为值的有序 Map
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String,Map<Object,Object>> hGetAll(Collection<String> keys) {
+        Batch batch = batch();
+        keys.forEach(batch::hGetAll);
+        List<Object> results = batch.execute();
+        Map<String,Map<Object,Object>> map = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+        int i = 0;
+        for (String key : keys) {
+            map.put(key, (Map<Object,Object>) results.get(i++));
+        }
+        return map;
+    }
+
+    /**
+     * 批量 DEL key
+     * @param keys 多个键
+     * @return 被删除 key 的数量
+     */
+    public long del(Collection<String> keys) {
+        Batch batch = batch();
+        keys.forEach(batch::del);
+        long count = 0;
+        for (Long deleted : batch.execute(Long.class)) {
+            count += deleted == null ? 0 : deleted;
+        }
+        return count;
+    }
+
+    /**
+     * 一批待发送的命令
+     * 每个方法只是把命令加入队列，直到调用 {@link #execute()} 才真正发送。
+     * 返回状态回复(OK)的命令(SET、SETEX、HMSET、LTRIM等)在结果中以 true 占位，保证结果下标与提交顺序一致。
+     */
+    public final class Batch {
+
+        private final List<Command> commands = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        public Batch get(String key) {
+            return add(false, ops -> ops.opsForValue().get(key));
+        }
+
+        public Batch set(String key, Object value) {
+            return add(true, ops -> ops.opsForValue().set(key, value));
+        }
+
+        public Batch setEx(String key, Object value, long time) {
+            if (time > 0) {
+                return add(true, ops -> ops.opsForValue().set(key, value, time, TimeUnit.SECONDS));
+            }
+            return set(key, value);
+        }
+
+        public Batch incrBy(String key, long delta) {
+            return add(false, ops -> ops.opsForValue().increment(key, delta));
+        }
+
+        public Batch del(String key) {
+            return add(false, ops -> ops.delete(key));
+        }
+
+        public Batch expire(String key, long time) {
+            return add(false, ops -> ops.expire(key, time, TimeUnit.SECONDS));
+        }
+
+        public Batch hget(String key, String field) {
+            return add(false, ops -> ops.opsForHash().get(key, field));
+        }
+
+        public Batch hset(String key, String item, Object value) {
+            return add(false, ops -> ops.opsForHash().put(key, item, value));
+        }
+
+        public Batch hMSet(String key, Map<String,Object> map) {
+            return add(true, ops -> ops.opsForHash().putAll(key, map));
+        }
+
+        public Batch hGetAll(String key) {
+            return add(false, ops -> ops.opsForHash().entries(key));
+        }
+
+        public Batch hdel(String key, Object... field) {
+            return add(false, ops -> ops.opsForHash().delete(key, field));
+        }
+
+        public Batch hIncrBy(String key, String item, long delta) {
+            return add(false, ops -> ops.opsForHash().increment(key, item, delta));
+        }
+
+        public Batch lPush(String key, Object value) {
+            return add(false, ops -> ops.opsForList().leftPush(key, value));
+        }
+
+        public Batch rPush(String key, Object value) {
+            return add(false, ops -> ops.opsForList().rightPush(key, value));
+        }
+
+        public Batch lRange(String key, long start, long end) {
+            return add(false, ops -> ops.opsForList().range(key, start, end));
+        }
+
+        public Batch lTrim(String key, long start, long end) {
+            return add(true, ops -> ops.opsForList().trim(key, start, end));
+        }
+
+        public Batch sAdd(String key, Object... values) {
+            return add(false, ops -> ops.opsForSet().add(key, values));
+        }
+
+        public Batch sIsMember(String key, Object value) {
+            return add(false, ops -> ops.opsForSet().isMember(key, value));
+        }
+
+        public Batch zAdd(String key, Object value, double score) {
+            return add(false, ops -> ops.opsForZSet().add(key, value, score));
+        }
+
+        public Batch zScore(String key, Object value) {
+            return add(false, ops -> ops.opsForZSet().score(key, value));
+        }
+
+        /**
+         * @return 已加入批次、尚未发送的命令数
+         */
+        public int size() {
+            return commands.size();
+        }
+
+        /**
+         * 发送批次中的全部命令，超过 chunkSize 时分段发送。执行后批次被清空，可以继续复用。
+         * @return 与提交顺序一致的结果列表
+         */
+        public List<Object> execute() {
+            List<Object> results = new ArrayList<>(commands.size());
+            try {
+                for (int from = 0; from < commands.size(); from += chunkSize) {
+                    List<Command> chunk = commands.subList(from, Math.min(from + chunkSize, commands.size()));
+                    List<Object> replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                            for (Command command : chunk) {
+                                command.action.accept((RedisOperations<String,Object>) operations);
+                            }
+                            return null;
+                        }
+                    });
+                    Iterator<Object> iterator = replies.iterator();
+                    for (Command command : chunk) {
+                        results.add(command.status ? Boolean.TRUE : iterator.next());
+                    }
+                }
+            } finally {
+                commands.clear();
+            }
+            return results;
+        }
+
+        /**
+         * 发送批次中的全部命令，并把结果转换为指定类型
+         * @param type 结果类型
+         * @return 与提交顺序一致的结果列表
+         */
+        public <T> List<T> execute(Class<T> type) {
+            List<Object> results = execute();
+            List<T> typed = new ArrayList<>(results.size());
+            for (Object result : results) {
+                typed.add(type.cast(result));
+            }
+            return typed;
+        }
+
+        private Batch add(boolean status, Consumer<RedisOperations<String,Object>> action) {
+            commands.add(new Command(status, action));
+            return this;
+        }
+    }
+
+    private static final class Command {
+
+        private final boolean status;
+
+        private final Consumer<RedisOperations<String,Object>> action;
+
+        private Command(boolean status, Consumer<RedisOperations<String,Object>> action) {
+            this.status = status;
+            this.action = action;
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.geek.redis.sdk.utils;
+
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import com.geek.redis.sdk.service.BlockingQueueConsumer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.support.ConnectionPoolSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Redis 阻塞式弹出工具类
+ * RedisUtils.bLPop / bRPop / bRPopLPush 在整个等待期间占用一条 RedisTemplate 连接和一个业务线程，大量并发等待会耗尽两者。
+ * 这里的单次弹出从独立的连接池借用连接并异步执行，等待期间不占用线程，也不占用普通命令的连接；
+ * 长期消费一个列表时使用 {@link #consume}，每个弹出者一条独占连接，JDK 21+ 运行在虚拟线程上，更早的 JDK 使用异步命令和少量处理线程。
+ * key 和值使用 RedisTemplate 的序列化器，与 RedisUtils 的 lPush / rPush 互通。
+ * 注意：Redis 的阻塞超时以秒为单位，不足 1 秒的超时按 1 秒计算，0 表示一直等待。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 20:25
+ * @version: 1.0
+ */
+@Slf4j
+public class RedisBlockingUtils implements DisposableBean {
+
+    private final RedisTemplate<String,Object> redisTemplate;
+
+    private final RedisClient redisClient;
+
+    private final RedisSdkProperties.Blocking options;
+
+    private final GenericObjectPool<StatefulRedisConnection<byte[], byte[]>> pool;
+
+    private final ExecutorService virtualThreads;
+
+    private final ScheduledExecutorService handlerExecutor;
+
+    private final List<BlockingQueueConsumer> consumers = new CopyOnWriteArrayList<>();
+
+    public RedisBlockingUtils(RedisTemplate<String,Object> redisTemplate, RedisClient redisClient, RedisSdkProperties.Blocking options) {
+        this.redisTemplate = redisTemplate;
+        this.redisClient = redisClient;
+        this.options = options;
+        GenericObjectPoolConfig config = new GenericObjectPoolConfig();
+        config.setMaxTotal(options.getMaxConnections());
+        config.setMaxIdle(options.getMaxConnections());
+        config.setMaxWaitMillis(options.getMaxWait().toMillis());
+        config.setMinIdle(options.getMinIdle());
+        this.pool = ConnectionPoolSupport.createGenericObjectPool(() -> redisClient.connect(ByteArrayCodec.INSTANCE), config, false);
+        try {
+            pool.preparePool();
+        } catch (Exception e) {
+            log.warn("prepare {} idle blocking connections failed", options.getMinIdle(), e);
+        }
+        this.virtualThreads = options.isVirtualThreads() ? newVirtualThreadPerTaskExecutor() : null;
+        AtomicInteger index = new AtomicInteger();
+        this.handlerExecutor = new ScheduledThreadPoolExecutor(Math.max(1, options.getHandlerThreads()), r -> {
+            Thread thread = new Thread(r, "redis-blocking-handler-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * BLPOP key timeout
+     * 功能描述：移除并返回列表 key 的头元素，列表为空时等待，直到有元素或超时。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param timeout 超时时间，0 表示一直等待
+     * @param unit 时间单位
+     * @return 弹出的元素，超时为 null ；独立连接池耗尽时异常完成
+     */
+    public CompletableFuture<Object> bLPop(String key, long timeout, TimeUnit unit) {
+        long seconds = toSeconds(timeout, unit);
+        byte[] rawKey = rawKey(key);
+        return withConnection(commands -> commands.blpop(seconds, rawKey))
+                .thenApply(element -> element == null || !element.hasValue() ? null : deserializeValue(element.getValue()));
+    }
+
+    /**
+     * BRPOP key timeout
+     * 功能描述：移除并返回列表 key 的尾元素，列表为空时等待，直到有元素或超时。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param timeout 超时时间，0 表示一直等待
+     * @param unit 时间单位
+     * @return 弹出的元素，超时为 null ；独立连接池耗尽时异常完成
+     */
+    public CompletableFuture<Object> bRPop(String key, long timeout, TimeUnit unit) {
+        long seconds = toSeconds(timeout, unit);
+        byte[] rawKey = rawKey(key);
+        return withConnection(commands -> commands.brpop(seconds, rawKey))
+                .thenApply(element -> element == null || !element.hasValue() ? null : deserializeValue(element.getValue()));
+    }
+
+    /**
+     * BRPOPLPUSH source destination timeout
+     * 功能描述：弹出列表 source 的尾元素并插入到列表 destination 的头部，source 为空时等待，直到有元素或超时。
+     * 时间复杂度：O(1)
+     * @param sourceKey 源列表
+     * @param destinationKey 目标列表
+     * @param timeout 超时时间，0 表示一直等待
+     * @param unit 时间单位
+     * @return 被移动的元素，超时为 null ；独立连接池耗尽时异常完成
+     */
+    public CompletableFuture<Object> bRPopLPush(String sourceKey, String destinationKey, long timeout, TimeUnit unit) {
+        long seconds = toSeconds(timeout, unit);
+        byte[] source = rawKey(sourceKey);
+        byte[] destination = rawKey(destinationKey);
+        return withConnection(commands -> commands.brpoplpush(seconds, source, destination)).thenApply(this::deserializeValue);
+    }
+
+    /**
+     * 用 concurrency 个弹出者持续消费列表 key ，头部弹出(BLPOP)
+     * @param key 列表
+     * @param concurrency 弹出者数量，每个占用一条独占连接
+     * @param handler 元素处理器，抛出的异常只记录日志
+     * @return 消费者，close() 后停止
+     */
+    public BlockingQueueConsumer consume(String key, int concurrency, Consumer<Object> handler) {
+        return consume(key, true, concurrency, handler);
+    }
+
+    /**
+     * 用 concurrency 个弹出者持续消费列表 key
+     * @param key 列表
+     * @param left true:头部弹出(BLPOP)，false:尾部弹出(BRPOP)
+     * @param concurrency 弹出者数量，每个占用一条独占连接
+     * @param handler 元素处理器，抛出的异常只记录日志
+     * @return 消费者，close() 后停止
+     */
+    public BlockingQueueConsumer consume(String key, boolean left, int concurrency, Consumer<Object> handler) {
+        BlockingQueueConsumer consumer = new BlockingQueueConsumer(redisClient, key, rawKey(key), left, concurrency, options.getPopTimeout(),
+                redisTemplate.getValueSerializer(), handler, virtualThreads, handlerExecutor);
+        consumers.add(consumer);
+        return consumer;
+    }
+
+    /**
+     * @return 是否使用虚拟线程运行消费者
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads != null;
+    }
+
+    /**
+     * @return 独立连接池中正在使用的连接数
+     */
+    public int getActiveConnections() {
+        return pool.getNumActive();
+    }
+
+    @Override
+    public void destroy() {
+        for (BlockingQueueConsumer consumer : consumers) {
+            consumer.close();
+        }
+        handlerExecutor.shutdown();
+        if (virtualThreads != null) {
+            virtualThreads.shutdown();
+        }
+        pool.close();
+    }
+
+    /**
+     * 借用独立连接执行一条异步命令，命令完成后归还；命令失败时销毁连接，避免复用状态未知的连接
+     */
+    private <T> CompletableFuture<T> withConnection(Function<RedisAsyncCommands<byte[], byte[]>, CompletionStage<T>> command) {
+        StatefulRedisConnection<byte[], byte[]> connection;
+        try {
+            connection = pool.borrowObject();
+        } catch (Exception e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return command.apply(connection.async()).toCompletableFuture().whenComplete((result, e) -> {
+            try {
+                if (e == null) {
+                    pool.returnObject(connection);
+                } else {
+                    pool.invalidateObject(connection);
+                }
+            } catch (Exception returnFailed) {
+                log.warn("release blocking connection failed", returnFailed);
+            }
+        });
+    }
+
+    /**
+     * JDK 21+ 的 Executors.newVirtualThreadPerTaskExecutor ，更早的 JDK 返回 null
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static long toSeconds(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            return 0;
+        }
+        return Math.max(1, (unit.toMillis(timeout) + 999) / 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    private Object deserializeValue(byte[] bytes) {
+        return bytes == null ? null : redisTemplate.getValueSerializer().deserialize(bytes);
+    }
+
+}
@@ -0,0 +1,479 @@
+package com.geek.redis.sdk.utils;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ZStoreArgs;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Redis Cluster 多 key 工具类
+ * 集群中一个命令的所有 key 必须在同一个 slot ，RedisUtils 的 mGet / mSet / del 等多 key 命令在集群下会被 spring-data-redis 拆成逐个 key 的请求。
+ * 这里先按 slot 把 key 分组，每组发送一条多 key 命令；所有分组在共享的集群连接上异步发出，同一节点上的分组连续写入该节点的连接，
+ * 不同节点之间并行，全部完成后按原始顺序合并结果。
+ * 集合的 sInter / sUnion / sDiff 跨 slot 时并行读取各个集合后在客户端计算；带 Store 的命令和 mSetNX 要求所有 key 在同一个 slot ，
+ * 可以用 {@link #hashTag(String, String)} 让相关的 key 落在同一个 slot 。
+ * key、值使用 RedisTemplate 的序列化器，与 RedisUtils 读写的数据互通；可选的近端缓存与 RedisUtils 共用。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 23:40
+ * @version: 1.0
+ */
+public final class RedisClusterUtils implements DisposableBean {
+
+    private static final String OK = "OK";
+
+    @Autowired
+    private RedisTemplate<String,Object> redisTemplate;
+
+    @Autowired
+    private RedisClusterClient redisClusterClient;
+
+    /**
+     * 可选的近端缓存，写操作完成后使本地对应的 key 失效
+     */
+    @Autowired(required = false)
+    private NearCache nearCache;
+
+    private volatile StatefulRedisClusterConnection<byte[], byte[]> connection;
+
+    @Override
+    public void destroy() {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    //=============================Hash Tag============================
+
+    /**
+     * 生成带 hash tag 的 key ，相同 tag 的 key 在同一个 slot
+     * @param tag 决定 slot 的部分，如用户 id
+     * @param key key 的其余部分
+     * @return 「{tag}:key」
+     */
+    public static String hashTag(String tag, String key) {
+        return "{" + tag + "}:" + key;
+    }
+
+    /**
+     * @param key 键
+     * @return key 所在的 slot ，按 RedisTemplate 的 key 序列化器写出的字节计算，有 hash tag 时只计算 {} 中的部分
+     */
+    public int slot(String key) {
+        return SlotHash.getSlot(rawKey(key));
+    }
+
+    /**
+     * @param keys 键
+     * @return 所有 key 是否在同一个 slot
+     */
+    public boolean isSameSlot(Collection<String> keys) {
+        int slot = -1;
+        for (String key : keys) {
+            int s = slot(key);
+            if (slot >= 0 && s != slot) {
+                return false;
+            }
+            slot = s;
+        }
+        return true;
+    }
+
+    //=============================String操作============================
+
+    /**
+     * MGET key [key ...]
+     * 功能描述：按 slot 分组并行执行 MGET ，返回值与 keys 的顺序一致。
+     * 时间复杂度：O(N) ， N 为 key 的数量。
+     * @param keys 键
+     * @return 值列表，不存在的 key 对应 null
+     */
+    public List<Object> mGet(Collection<String> keys) {
+        byte[][] raw = rawKeys(keys);
+        Map<Integer, List<Integer>> groups = groupBySlot(raw);
+        List<RedisFuture<List<KeyValue<byte[], byte[]>>>> futures = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups.values()) {
+            futures.add(commands().mget(select(raw, group)));
+        }
+        Object[] result = new Object[raw.length];
+        int g = 0;
+        for (List<Integer> group : groups.values()) {
+            List<KeyValue<byte[], byte[]>> values = await(futures.get(g++));
+            for (int i = 0; i < group.size(); i++) {
+                KeyValue<byte[], byte[]> value = values.get(i);
+                result[group.get(i)] = value.hasValue() ? deserializeValue(value.getValue()) : null;
+            }
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * MSET key value [key value ...]
+     * 功能描述：按 slot 分组并行执行 MSET 。每组是原子的，组与组之间不是。
+     * 时间复杂度：O(N) ， N 为 key 的数量。
+     * @param map 键值
+     * @return 全部成功返回 true
+     */
+    public Boolean mSet(Map<String, Object> map) {
+        try {
+            Map<Integer, Map<byte[], byte[]>> groups = new LinkedHashMap<>();
+            map.forEach((key, value) -> {
+                byte[] rawKey = rawKey(key);
+                groups.computeIfAbsent(SlotHash.getSlot(rawKey), s -> new LinkedHashMap<>()).put(rawKey, rawValue(value));
+            });
+            List<RedisFuture<String>> futures = new ArrayList<>(groups.size());
+            for (Map<byte[], byte[]> group : groups.values()) {
+                futures.add(commands().mset(group));
+            }
+            boolean ok = true;
+            for (RedisFuture<String> future : futures) {
+                ok &= OK.equals(await(future));
+            }
+            return ok;
+        } finally {
+            invalidate(map.keySet());
+        }
+    }
+
+    /**
+     * MSETNX key value [key value ...]
+     * 功能描述：所有 key 都不存在时才全部设置。跨 slot 无法保证原子性，因此要求所有 key 在同一个 slot 。
+     * 时间复杂度：O(N) ， N 为 key 的数量。
+     * @param map 键值，key 必须在同一个 slot
+     * @return 全部设置返回 true ，有任何一个 key 已存在返回 false
+     */
+    public Boolean mSetNX(Map<String, Object> map) {
+        requireSameSlot("MSETNX", map.keySet());
+        Map<byte[], byte[]> raw = new LinkedHashMap<>();
+        map.forEach((key, value) -> raw.put(rawKey(key), rawValue(value)));
+        try {
+            return await(commands().msetnx(raw));
+        } finally {
+            invalidate(map.keySet());
+        }
+    }
+
+    //=============================Key操作============================
+
+    /**
+     * DEL key [key ...]
+     * 功能描述：按 slot 分组并行执行 DEL 。
+     * 时间复杂度：O(N) ， N 为 key 的数量。
+     * @param keys 键
+     * @return 被删除 key 的数量
+     */
+    public Long del(String... keys) {
+        return sumBySlot(keys, commands()::del);
+    }
+
+    /**
+     * UNLINK key [key ...]
+     * 功能描述：按 slot 分组并行执行 UNLINK ，值的内存由后台线程释放。
+     * 可用版本：>= 4.0.0
+     * @param keys 键
+     * @return 被删除 key 的数量
+     */
+    public Long unlink(String... keys) {
+        return sumBySlot(keys, commands()::unlink);
+    }
+
+    //=============================Set操作============================
+
+    /**
+     * SINTER key [key ...]
+     * 功能描述：返回所有给定集合的交集。同一个 slot 时由服务器计算，否则并行读取各个集合后在客户端计算。
+     * 时间复杂度：O(N * M)， N 为给定集合当中基数最小的集合， M 为给定集合的个数。
+     * @param key 键
+     * @param otherKeys 其他键
+     * @return 交集成员
+     */
+    public Set<Object> sInter(String key, Collection<String> otherKeys) {
+        List<String> keys = keys(key, otherKeys);
+        if (isSameSlot(keys)) {
+            return deserializeValues(await(commands().sinter(rawKeys(keys))));
+        }
+        List<Set<ByteBuffer>> sets = members(keys);
+        Set<ByteBuffer> result = sets.get(0);
+        for (int i = 1; i < sets.size(); i++) {
+            result.retainAll(sets.get(i));
+        }
+        return deserialize(result);
+    }
+
+    /**
+     * SUNION key [key ...]
+     * 功能描述：返回所有给定集合的并集。同一个 slot 时由服务器计算，否则并行读取各个集合后在客户端计算。
+     * 时间复杂度：O(N)， N 是所有给定集合的成员数量之和。
+     * @param key 键
+     * @param otherKeys 其他键
+     * @return 并集成员
+     */
+    public Set<Object> sUnion(String key, Collection<String> otherKeys) {
+        List<String> keys = keys(key, otherKeys);
+        if (isSameSlot(keys)) {
+            return deserializeValues(await(commands().sunion(rawKeys(keys))));
+        }
+        Set<ByteBuffer> result = new LinkedHashSet<>();
+        members(keys).forEach(result::addAll);
+        return deserialize(result);
+    }
+
+    /**
+     * SDIFF key [key ...]
+     * 功能描述：返回第一个集合与其他集合之间的差集。同一个 slot 时由服务器计算，否则并行读取各个集合后在客户端计算。
+     * 时间复杂度：O(N)， N 是所有给定集合的成员数量之和。
+     * @param key 键
+     * @param otherKeys 其他键
+     * @return 差集成员
+     */
+    public Set<Object> sDiff(String key, Collection<String> otherKeys) {
+        List<String> keys = keys(key, otherKeys);
+        if (isSameSlot(keys)) {
+            return deserializeValues(await(commands().sdiff(rawKeys(keys))));
+        }
+        List<Set<ByteBuffer>> sets = members(keys);
+        Set<ByteBuffer> result = sets.get(0);
+        for (int i = 1; i < sets.size(); i++) {
+            result.removeAll(sets.get(i));
+        }
+        return deserialize(result);
+    }
+
+    /**
+     * SINTERSTORE destination key [key ...]
+     * 功能描述：与 SINTER 相同，结果保存到 destKey 。所有 key(包括 destKey)必须在同一个 slot 。
+     * @return 结果集中的成员数量
+     */
+    public Long sInterStore(String key, Collection<String> otherKeys, String destKey) {
+        return store("SINTERSTORE", key, otherKeys, destKey, (dest, keys) -> commands().sinterstore(dest, keys));
+    }
+
+    /**
+     * SUNIONSTORE destination key [key ...]
+     * 功能描述：与 SUNION 相同，结果保存到 destKey 。所有 key(包括 destKey)必须在同一个 slot 。
+     * @return 结果集中的成员数量
+     */
+    public Long sUnionStore(String key, Collection<String> otherKeys, String destKey) {
+        return store("SUNIONSTORE", key, otherKeys, destKey, (dest, keys) -> commands().sunionstore(dest, keys));
+    }
+
+    /**
+     * SDIFFSTORE destination key [key ...]
+     * 功能描述：与 SDIFF 相同，结果保存到 destKey 。所有 key(包括 destKey)必须在同一个 slot 。
+     * @return 结果集中的成员数量
+     */
+    public Long sDiffStore(String key, Collection<String> otherKeys, String destKey) {
+        return store("SDIFFSTORE", key, otherKeys, destKey, (dest, keys) -> commands().sdiffstore(dest, keys));
+    }
+
+    //=============================SortedSet操作============================
+
+    /**
+     * ZUNIONSTORE destination numkeys key [key ...] [WEIGHTS weight ...] [AGGREGATE SUM|MIN|MAX]
+     * 功能描述：计算给定有序集的并集并保存到 destKey 。所有 key(包括 destKey)必须在同一个 slot 。
+     * @param aggregate 聚合方式
+     * @param weights 权重，为 null 时都为 1
+     * @return 结果集中的成员数量
+     */
+    public Long zUnionStore(String key, Collection<String> otherKeys, String destKey, RedisZSetCommands.Aggregate aggregate, RedisZSetCommands.Weights weights) {
+        ZStoreArgs args = zStoreArgs(aggregate, weights);
+        return store("ZUNIONSTORE", key, otherKeys, destKey, (dest, keys) -> commands().zunionstore(dest, args, keys));
+    }
+
+    /**
+     * ZINTERSTORE destination numkeys key [key ...] [WEIGHTS weight ...] [AGGREGATE SUM|MIN|MAX]
+     * 功能描述：计算给定有序集的交集并保存到 destKey 。所有 key(包括 destKey)必须在同一个 slot 。
+     * @param aggregate 聚合方式
+     * @param weights 权重，为 null 时都为 1
+     * @return 结果集中的成员数量
+     */
+    public Long intersectAndStore(String key, Collection<String> otherKeys, String destKey, RedisZSetCommands.Aggregate aggregate, RedisZSetCommands.Weights weights) {
+        ZStoreArgs args = zStoreArgs(aggregate, weights);
+        return store("ZINTERSTORE", key, otherKeys, destKey, (dest, keys) -> commands().zinterstore(dest, args, keys));
+    }
+
+    private RedisAdvancedClusterAsyncCommands<byte[], byte[]> commands() {
+        StatefulRedisClusterConnection<byte[], byte[]> c = connection;
+        if (c == null) {
+            synchronized (this) {
+                c = connection;
+                if (c == null) {
+                    c = redisClusterClient.connect(ByteArrayCodec.INSTANCE);
+                    connection = c;
+                }
+            }
+        }
+        return c.async();
+    }
+
+    private <T> T await(RedisFuture<T> future) {
+        return LettuceFutures.awaitOrCancel(future, connection.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return slot -> 该 slot 的 key 在原数组中的下标，按第一次出现的顺序
+     */
+    private static Map<Integer, List<Integer>> groupBySlot(byte[][] raw) {
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < raw.length; i++) {
+            groups.computeIfAbsent(SlotHash.getSlot(raw[i]), s -> new ArrayList<>()).add(i);
+        }
+        return groups;
+    }
+
+    private static byte[][] select(byte[][] raw, List<Integer> indexes) {
+        byte[][] selected = new byte[indexes.size()][];
+        for (int i = 0; i < selected.length; i++) {
+            selected[i] = raw[indexes.get(i)];
+        }
+        return selected;
+    }
+
+    private Long sumBySlot(String[] keys, Function<byte[][], RedisFuture<Long>> command) {
+        try {
+            byte[][] raw = rawKeys(Arrays.asList(keys));
+            List<RedisFuture<Long>> futures = new ArrayList<>();
+            for (List<Integer> group : groupBySlot(raw).values()) {
+                futures.add(command.apply(select(raw, group)));
+            }
+            long sum = 0;
+            for (RedisFuture<Long> future : futures) {
+                Long n = await(future);
+                sum += n == null ? 0 : n;
+            }
+            return sum;
+        } finally {
+            invalidate(Arrays.asList(keys));
+        }
+    }
+
+    private Long store(String command, String key, Collection<String> otherKeys, String destKey, StoreCommand store) {
+        List<String> keys = keys(key, otherKeys);
+        List<String> all = new ArrayList<>(keys);
+        all.add(destKey);
+        requireSameSlot(command, all);
+        try {
+            return await(store.apply(rawKey(destKey), rawKeys(keys)));
+        } finally {
+            invalidate(Arrays.asList(destKey));
+        }
+    }
+
+    /**
+     * 并行读取各个集合的成员
+     */
+    private List<Set<ByteBuffer>> members(List<String> keys) {
+        List<RedisFuture<Set<byte[]>>> futures = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            futures.add(commands().smembers(rawKey(key)));
+        }
+        List<Set<ByteBuffer>> sets = new ArrayList<>(keys.size());
+        for (RedisFuture<Set<byte[]>> future : futures) {
+            Set<ByteBuffer> members = new LinkedHashSet<>();
+            for (byte[] member : await(future)) {
+                members.add(ByteBuffer.wrap(member));
+            }
+            sets.add(members);
+        }
+        return sets;
+    }
+
+    private static ZStoreArgs zStoreArgs(RedisZSetCommands.Aggregate aggregate, RedisZSetCommands.Weights weights) {
+        ZStoreArgs args = new ZStoreArgs();
+        if (weights != null) {
+            args.weights(weights.toArray());
+        }
+        if (aggregate == RedisZSetCommands.Aggregate.MIN) {
+            args.min();
+        } else if (aggregate == RedisZSetCommands.Aggregate.MAX) {
+            args.max();
+        } else {
+            args.sum();
+        }
+        return args;
+    }
+
+    private void requireSameSlot(String command, Collection<String> keys) {
+        Assert.isTrue(isSameSlot(keys), () -> command + " requires all keys in one slot, use RedisClusterUtils.hashTag to co-locate them: " + keys);
+    }
+
+    private static List<String> keys(String key, Collection<String> otherKeys) {
+        List<String> keys = new ArrayList<>(otherKeys.size() + 1);
+        keys.add(key);
+        keys.addAll(otherKeys);
+        return keys;
+    }
+
+    private void invalidate(Collection<String> keys) {
+        if (nearCache != null) {
+            keys.forEach(nearCache::invalidate);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    private byte[][] rawKeys(Collection<String> keys) {
+        byte[][] raw = new byte[keys.size()][];
+        int i = 0;
+        for (String key : keys) {
+            raw[i++] = rawKey(key);
+        }
+        return raw;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    private Object deserializeValue(byte[] bytes) {
+        return bytes == null ? null : redisTemplate.getValueSerializer().deserialize(bytes);
+    }
+
+    private Set<Object> deserializeValues(Set<byte[]> raw) {
+        Set<Object> result = new LinkedHashSet<>();
+        for (byte[] bytes : raw) {
+            result.add(deserializeValue(bytes));
+        }
+        return result;
+    }
+
+    private Set<Object> deserialize(Set<ByteBuffer> raw) {
+        Set<Object> result = new LinkedHashSet<>();
+        for (ByteBuffer buffer : raw) {
+            result.add(deserializeValue(buffer.array()));
+        }
+        return result;
+    }
+
+    private interface StoreCommand {
+
+        RedisFuture<Long> apply(byte[] destKey, byte[][] keys);
+    }
+
+}
@@ -0,0 +1,391 @@
+package com.geek.redis.sdk.utils;
+
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 客户端的慢命令和大 key 检测
+ * 按 sampleRate 抽样检查 RedisTemplate 发出的命令：耗时超过 slowThreshold 的记为慢命令，返回或写入的元素数、字节数超过阈值的记为大 key ，
+ * 按 key 模式(key 中含数字的段替换为 *，如 user:123:profile -> user:*:profile)汇总，并按模式限频打印告警日志。
+ * 开启 rejectUnbounded 后，KEYS 直接拒绝；LRANGE / ZRANGE / SMEMBERS / HGETALL 等在范围无法确定时先用 O(1) 的 LLEN / ZCARD / SCARD / HLEN 查询大小，
+ * 结果会超过 rejectElements 的调用抛出 InvalidDataAccessApiUsageException ，不发送到服务器。
+ * 注意：pipeline 和事务中的命令不检查。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 23:00
+ * @version: 1.0
+ */
+@Slf4j
+public class RedisCommandGuard {
+
+    private static final String OTHER_PATTERN = "*";
+
+    private final RedisSdkProperties.Guard options;
+
+    private final long slowNanos;
+
+    private final long logIntervalNanos;
+
+    private final Map<String, PatternStats> patterns = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> bigKeys = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> bigValues = new ConcurrentHashMap<>();
+
+    public RedisCommandGuard(RedisSdkProperties.Guard options) {
+        this.options = options;
+        this.slowNanos = options.getSlowThreshold().toNanos();
+        this.logIntervalNanos = options.getLogInterval().toNanos();
+    }
+
+    /**
+     * 拒绝无界调用，未开启 rejectUnbounded 时不做任何事
+     * @param command RedisConnection 的方法名
+     * @param args 方法参数
+     * @param connection 用于查询集合大小的连接
+     */
+    public void check(String command, Object[] args, RedisConnection connection) {
+        if (!options.isRejectUnbounded()) {
+            return;
+        }
+        switch (command) {
+            case "keys":
+                throw reject(command, args[0], -1);
+            case "lRange":
+                checkRange(command, args, () -> connection.lLen((byte[]) args[0]));
+                break;
+            case "zRange":
+            case "zRevRange":
+            case "zRangeWithScores":
+            case "zRevRangeWithScores":
+                checkRange(command, args, () -> connection.zCard((byte[]) args[0]));
+                break;
+            case "sMembers":
+                checkSize(command, args[0], connection.sCard((byte[]) args[0]));
+                break;
+            case "hGetAll":
+            case "hKeys":
+            case "hVals":
+                checkSize(command, args[0], connection.hLen((byte[]) args[0]));
+                break;
+            case "bitOp":
+                for (byte[] key : (byte[][]) args[2]) {
+                    Long length = connection.strLen(key);
+                    if (length != null && length > options.getBigKeyBytes()) {
+                        throw reject(command, key, length);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return 本次调用是否需要记录
+     */
+    public boolean sample() {
+        double rate = options.getSampleRate();
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * 记录一次调用的耗时和大小
+     * @param command RedisConnection 的方法名
+     * @param args 方法参数
+     * @param result 返回值
+     * @param nanos 耗时(纳秒)
+     */
+    public void record(String command, Object[] args, Object result, long nanos) {
+        int keyIndex = keyIndex(args);
+        String key = keyIndex < 0 ? null : key(args[keyIndex]);
+        PatternStats stats = stats(key);
+        // key 本身不计入元素数和字节数，只统计返回值和写入的值
+        Object[] values = values(args, keyIndex);
+        long elements = Math.max(elements(result), elements(values));
+        long bytes = Math.max(bytes(result), bytes(values));
+        stats.calls.increment();
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        stats.maxElements.accumulateAndGet(elements, Math::max);
+        stats.maxBytes.accumulateAndGet(bytes, Math::max);
+        boolean slow = nanos > slowNanos;
+        boolean bigElements = elements > options.getBigKeyElements();
+        boolean bigBytes = bytes > options.getBigKeyBytes();
+        boolean big = bigElements || bigBytes;
+        if (slow) {
+            stats.slowCalls.increment();
+        }
+        if (big) {
+            stats.bigCalls.increment();
+        }
+        if (bigElements) {
+            track(bigKeys, key, elements);
+        }
+        if (bigBytes) {
+            track(bigValues, key, bytes);
+        }
+        if ((slow || big) && stats.shouldLog(logIntervalNanos)) {
+            log.warn("redis {} on {} (pattern {}) took {}ms, {} elements, {} bytes; {} slow and {} big calls on this pattern so far",
+                    command, key, stats.pattern, TimeUnit.NANOSECONDS.toMillis(nanos), elements, bytes, stats.getSlowCalls(), stats.getBigCalls());
+        }
+    }
+
+    /**
+     * @return 各 key 模式的统计，按最大耗时降序
+     */
+    public List<PatternStats> getPatterns() {
+        List<PatternStats> result = new ArrayList<>(patterns.values());
+        result.sort(Comparator.comparingLong(PatternStats::getMaxNanos).reversed());
+        return result;
+    }
+
+    /**
+     * @return 元素数超过 bigKeyElements 的 key 和观察到的最大元素数，最多 maxPatterns 个
+     */
+    public Map<String, Long> getBigKeys() {
+        return new HashMap<>(bigKeys);
+    }
+
+    /**
+     * @return 单个值超过 bigKeyBytes 的 key 和观察到的最大字节数，最多 maxPatterns 个
+     */
+    public Map<String, Long> getBigValues() {
+        return new HashMap<>(bigValues);
+    }
+
+    /**
+     * @param key key
+     * @return key 所属的模式，含数字的段替换为 *
+     */
+    static String pattern(String key) {
+        StringBuilder pattern = new StringBuilder(key.length());
+        int start = 0;
+        while (start <= key.length()) {
+            int end = key.indexOf(':', start);
+            if (end < 0) {
+                end = key.length();
+            }
+            boolean hasDigit = false;
+            for (int i = start; i < end && !hasDigit; i++) {
+                hasDigit = Character.isDigit(key.charAt(i));
+            }
+            if (start > 0) {
+                pattern.append(':');
+            }
+            if (hasDigit) {
+                pattern.append('*');
+            } else {
+                pattern.append(key, start, end);
+            }
+            start = end + 1;
+        }
+        return pattern.toString();
+    }
+
+    private PatternStats stats(String key) {
+        String pattern = key == null ? OTHER_PATTERN : pattern(key);
+        PatternStats stats = patterns.get(pattern);
+        if (stats != null) {
+            return stats;
+        }
+        if (patterns.size() >= options.getMaxPatterns()) {
+            pattern = OTHER_PATTERN;
+        }
+        return patterns.computeIfAbsent(pattern, PatternStats::new);
+    }
+
+    private void checkRange(String command, Object[] args, Supplier<Long> size) {
+        long start = (Long) args[1];
+        long end = (Long) args[2];
+        if (start >= 0 && end >= start && end - start < options.getRejectElements()) {
+            return;
+        }
+        Long total = size.get();
+        if (total == null) {
+            return;
+        }
+        long from = start < 0 ? Math.max(0, total + start) : start;
+        long to = Math.min(end < 0 ? total + end : end, total - 1);
+        long count = Math.max(0, to - from + 1);
+        if (count > options.getRejectElements()) {
+            throw reject(command, args[0], count);
+        }
+    }
+
+    private void checkSize(String command, Object key, Long size) {
+        if (size != null && size > options.getRejectElements()) {
+            throw reject(command, key, size);
+        }
+    }
+
+    private static InvalidDataAccessApiUsageException reject(String command, Object key, long size) {
+        String name = key instanceof byte[] ? new String((byte[]) key, StandardCharsets.UTF_8) : String.valueOf(key);
+        return new InvalidDataAccessApiUsageException("unbounded redis " + command + " on " + name
+                + (size < 0 ? "" : " (" + size + ")") + " rejected, use SCAN / HSCAN / SSCAN / ZSCAN or a bounded range instead");
+    }
+
+    private void track(Map<String, Long> keys, String key, long size) {
+        if (key != null && (keys.size() < options.getMaxPatterns() || keys.containsKey(key))) {
+            keys.merge(key, size, Math::max);
+        }
+    }
+
+    /**
+     * @return key 参数的位置，没有 key 参数时为 -1
+     */
+    private static int keyIndex(Object[] args) {
+        if (args == null || args.length == 0) {
+            return -1;
+        }
+        if (args[0] instanceof byte[] || args[0] instanceof byte[][]) {
+            return 0;
+        }
+        // BITOP 等第一个参数不是 key 的命令
+        return args.length > 1 && args[1] instanceof byte[] ? 1 : -1;
+    }
+
+    private static String key(Object arg) {
+        Object first = arg;
+        if (first instanceof byte[][] && ((byte[][]) first).length > 0) {
+            first = ((byte[][]) first)[0];
+        }
+        return first instanceof byte[] ? new String((byte[]) first, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * @return 去掉 key 参数后的参数
+     */
+    private static Object[] values(Object[] args, int keyIndex) {
+        if (args == null) {
+            return new Object[0];
+        }
+        if (keyIndex < 0) {
+            return args;
+        }
+        Object[] values = new Object[args.length - 1];
+        System.arraycopy(args, 0, values, 0, keyIndex);
+        System.arraycopy(args, keyIndex + 1, values, keyIndex, args.length - keyIndex - 1);
+        return values;
+    }
+
+    private static long elements(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+        if (value instanceof byte[][]) {
+            return ((byte[][]) value).length;
+        }
+        if (value instanceof Object[]) {
+            long max = 0;
+            for (Object arg : (Object[]) value) {
+                if (!(arg instanceof byte[])) {
+                    max = Math.max(max, elements(arg));
+                }
+            }
+            return max;
+        }
+        return 0;
+    }
+
+    private static long bytes(Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof Object[] && !(value instanceof byte[][])) {
+            long max = 0;
+            for (Object arg : (Object[]) value) {
+                max = Math.max(max, bytes(arg));
+            }
+            return max;
+        }
+        return 0;
+    }
+
+    /**
+     * 一个 key 模式的统计
+     */
+    public static final class PatternStats {
+
+        private final String pattern;
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder slowCalls = new LongAdder();
+
+        private final LongAdder bigCalls = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private final AtomicLong maxElements = new AtomicLong();
+
+        private final AtomicLong maxBytes = new AtomicLong();
+
+        private final AtomicLong lastLoggedAt = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1));
+
+        private PatternStats(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        /**
+         * @return 被抽样记录的调用数
+         */
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getSlowCalls() {
+            return slowCalls.sum();
+        }
+
+        public long getBigCalls() {
+            return bigCalls.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getMaxElements() {
+            return maxElements.get();
+        }
+
+        public long getMaxBytes() {
+            return maxBytes.get();
+        }
+
+        private boolean shouldLog(long intervalNanos) {
+            long now = System.nanoTime();
+            long last = lastLoggedAt.get();
+            return now - last >= intervalNanos && lastLoggedAt.compareAndSet(last, now);
+        }
+
+        @Override
+        public String toString() {
+            return pattern + "{calls=" + getCalls() + ", slow=" + getSlowCalls() + ", big=" + getBigCalls()
+                    + ", maxMillis=" + TimeUnit.NANOSECONDS.toMillis(getMaxNanos()) + ", maxElements=" + getMaxElements() + ", maxBytes=" + getMaxBytes() + "}";
+        }
+    }
+
+}
@@ -0,0 +1,678 @@
+package com.geek.redis.sdk.utils;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Redis 响应式工具类
+ * 与 RedisUtils 对应的 Reactor 版本，基于 spring-data-redis 的响应式连接，单个值返回 Mono ，多个元素返回 Flux 。
+ * 范围类操作(lRange、range、rangeByScore)按页读取，sMembers 和 SCAN 系列按游标读取，下游请求多少才向 Redis 读取多少，
+ * 慢速的下游(如流式导出)会自然限制对 Redis 的读取速度，不会一次把整个集合加载到内存。
+ * key、值、哈希域使用 RedisTemplate 的序列化器，与 RedisUtils 读写的数据互通；写操作完成后使近端缓存中的 key 失效。
+ * 注意：Mono / Flux 在订阅时才执行；分页读取不是快照，读取期间集合被修改时可能重复或遗漏元素。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 19:40
+ * @version: 1.0
+ */
+public final class RedisReactiveUtils implements InitializingBean {
+
+    /**
+     * 范围类操作默认每页读取的元素数量
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    @Autowired
+    private RedisTemplate<String,Object> redisTemplate;
+
+    @Autowired
+    private ReactiveRedisConnectionFactory reactiveRedisConnectionFactory;
+
+    @Autowired(required = false)
+    private NearCache nearCache;
+
+    private ReactiveRedisTemplate<String,Object> reactiveRedisTemplate;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterPropertiesSet() {
+        // 与 RedisUtils 使用同一套序列化器；spring-data-redis 2.1 的 string() 会覆盖 hashValue ，必须先于 hashValue 设置
+        RedisSerializationContext<String,Object> serializationContext = RedisSerializationContext.<String,Object>newSerializationContext()
+                .string(RedisSerializer.string())
+                .key((RedisSerializer<String>) redisTemplate.getKeySerializer())
+                .value((RedisSerializer<Object>) redisTemplate.getValueSerializer())
+                .hashKey(redisTemplate.getHashKeySerializer())
+                .hashValue(redisTemplate.getHashValueSerializer())
+                .build();
+        reactiveRedisTemplate = new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, serializationContext);
+    }
+
+    /**
+     * @return 底层的响应式模板，用于本类未覆盖的命令
+     */
+    public ReactiveRedisTemplate<String,Object> getReactiveRedisTemplate() {
+        return reactiveRedisTemplate;
+    }
+
+    //=============================Key操作============================
+
+    /**
+     * DEL key [key ...]
+     * 功能描述：删除给定的一个或多个 key 。不存在的 key 会被忽略。
+     * 时间复杂度：O(N)， N 为被删除的 key 的数量。
+     * @param keys 键
+     * @return 被删除 key 的数量
+     */
+    public Mono<Long> del(String... keys) {
+        return invalidating(reactiveRedisTemplate.delete(keys), keys);
+    }
+
+    /**
+     * EXISTS key
+     * 功能描述：检查给定 key 是否存在。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return true:存在，false:不存在
+     */
+    public Mono<Boolean> exists(String key) {
+        return reactiveRedisTemplate.hasKey(key);
+    }
+
+    /**
+     * EXPIRE key seconds
+     * 功能描述：为给定 key 设置生存时间。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param time 时间(秒)
+     * @return true:设置成功，false:key 不存在
+     */
+    public Mono<Boolean> expire(String key, long time) {
+        return reactiveRedisTemplate.expire(key, Duration.ofSeconds(time));
+    }
+
+    /**
+     * SCAN cursor [MATCH pattern] [COUNT count]
+     * 功能描述：增量迭代当前数据库中的 key ，按下游的请求逐批发送 SCAN 。
+     * 时间复杂度：每次 SCAN 为 O(1)，完整迭代为 O(N)
+     * 注意：完整迭代期间一直存在的 key 一定会被返回，同一个 key 可能被返回多次。
+     * @param pattern key 的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 匹配的 key
+     */
+    public Flux<String> scan(String pattern, long count) {
+        return reactiveRedisTemplate.scan(scanOptions(pattern, count));
+    }
+
+    //=============================String操作============================
+
+    /**
+     * GET key
+     * 功能描述：返回 key 所关联的值，近端缓存命中时不访问 Redis 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 值，key 不存在时为空 Mono
+     */
+    public Mono<Object> get(String key) {
+        if (nearCache == null) {
+            return reactiveRedisTemplate.opsForValue().get(key);
+        }
+        return Mono.defer(() -> {
+            Object cached = nearCache.get(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long stamp = nearCache.stamp(key);
+            return reactiveRedisTemplate.opsForValue().get(key).doOnNext(value -> nearCache.put(key, value, stamp));
+        });
+    }
+
+    /**
+     * SET key value
+     * 功能描述：将值 value 关联到 key 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param value 值
+     * @return true:成功
+     */
+    public Mono<Boolean> set(String key, Object value) {
+        return invalidating(reactiveRedisTemplate.opsForValue().set(key, value), key);
+    }
+
+    /**
+     * SETEX key seconds value
+     * 功能描述：将值 value 关联到 key ，并设置生存时间。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param value 值
+     * @param time 时间(秒)，小于等于0时不设置过期时间
+     * @return true:成功
+     */
+    public Mono<Boolean> setEx(String key, Object value, long time) {
+        if (time <= 0) {
+            return set(key, value);
+        }
+        return invalidating(reactiveRedisTemplate.opsForValue().set(key, value, Duration.ofSeconds(time)), key);
+    }
+
+    /**
+     * SET key value EX seconds NX
+     * 功能描述：仅在 key 不存在时设置值和生存时间。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param value 值
+     * @param time 时间(秒)，小于等于0时不设置过期时间
+     * @return true:设置成功，false:key 已存在
+     */
+    public Mono<Boolean> setNX(String key, Object value, long time) {
+        Mono<Boolean> result = time > 0
+                ? reactiveRedisTemplate.opsForValue().setIfAbsent(key, value, Duration.ofSeconds(time))
+                : reactiveRedisTemplate.opsForValue().setIfAbsent(key, value);
+        return invalidating(result, key);
+    }
+
+    /**
+     * MGET key [key ...]
+     * 功能描述：返回所有给定 key 的值，不存在的 key 对应 null 。
+     * 时间复杂度：O(N)， N 为给定 key 的数量。
+     * @param keys 键
+     * @return 与 keys 顺序一致的值列表
+     */
+    public Mono<List<Object>> mGet(Collection<String> keys) {
+        return reactiveRedisTemplate.opsForValue().multiGet(keys);
+    }
+
+    /**
+     * INCR key
+     * 功能描述：将 key 中储存的数字值增一。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 自增后的值
+     */
+    public Mono<Long> incr(String key) {
+        return invalidating(reactiveRedisTemplate.opsForValue().increment(key), key);
+    }
+
+    /**
+     * INCRBY key increment
+     * 功能描述：将 key 所储存的值加上增量 delta 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param delta 增量
+     * @return 自增后的值
+     */
+    public Mono<Long> incrBy(String key, long delta) {
+        return invalidating(reactiveRedisTemplate.opsForValue().increment(key, delta), key);
+    }
+
+    //=============================Hash操作============================
+
+    /**
+     * HGET key field
+     * 功能描述：返回哈希表 key 中给定域 field 的值，近端缓存命中时不访问 Redis 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param field 域
+     * @return 值，域或 key 不存在时为空 Mono
+     */
+    public Mono<Object> hget(String key, String field) {
+        if (nearCache == null) {
+            return reactiveRedisTemplate.opsForHash().get(key, field);
+        }
+        return Mono.defer(() -> {
+            Object cached = nearCache.getField(key, field);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long stamp = nearCache.stamp(key);
+            return reactiveRedisTemplate.opsForHash().get(key, field).doOnNext(value -> nearCache.putField(key, field, value, stamp));
+        });
+    }
+
+    /**
+     * HSET key field value
+     * 功能描述：将哈希表 key 中的域 field 的值设为 value 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param item 域
+     * @param value 值
+     * @return true:新建的域，false:覆盖已有的域
+     */
+    public Mono<Boolean> hset(String key, String item, Object value) {
+        return invalidating(reactiveRedisTemplate.opsForHash().put(key, item, value), key);
+    }
+
+    /**
+     * HMSET key field value [field value ...]
+     * 功能描述：同时将多个 field-value 对设置到哈希表 key 中。
+     * 时间复杂度：O(N)， N 为 field-value 对的数量。
+     * @param key 键
+     * @param map 域值对
+     * @return true:成功
+     */
+    public Mono<Boolean> hMSet(String key, Map<String,Object> map) {
+        return invalidating(reactiveRedisTemplate.opsForHash().putAll(key, map), key);
+    }
+
+    /**
+     * HGETALL key
+     * 功能描述：返回哈希表 key 中，所有的域和值。
+     * 时间复杂度：O(N)， N 为哈希表的大小。
+     * 注意：HGETALL 是一次回复，大哈希表请使用 {@link #hScan(String, String, long)} 。
+     * @param key 键
+     * @return 域值对
+     */
+    public Flux<Map.Entry<Object,Object>> hGetAll(String key) {
+        return reactiveRedisTemplate.opsForHash().entries(key);
+    }
+
+    /**
+     * HMGET key field [field ...]
+     * 功能描述：返回哈希表 key 中，一个或多个给定域的值。
+     * 时间复杂度：O(N)， N 为给定域的数量。
+     * @param key 键
+     * @param hashKeys 域
+     * @return 与 hashKeys 顺序一致的值列表
+     */
+    public Mono<List<Object>> hMGet(String key, Collection<Object> hashKeys) {
+        return reactiveRedisTemplate.opsForHash().multiGet(key, hashKeys);
+    }
+
+    /**
+     * HDEL key field [field ...]
+     * 功能描述：删除哈希表 key 中的一个或多个指定域，不存在的域将被忽略。
+     * 时间复杂度：O(N)， N 为要删除的域的数量。
+     * @param key 键
+     * @param fields 域
+     * @return 被成功移除的域的数量
+     */
+    public Mono<Long> hdel(String key, Object... fields) {
+        return invalidating(reactiveRedisTemplate.opsForHash().remove(key, fields), key);
+    }
+
+    /**
+     * HINCRBY key field increment
+     * 功能描述：为哈希表 key 中的域 field 的值加上增量 delta 。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param item 域
+     * @param delta 增量
+     * @return 自增后的值
+     */
+    public Mono<Long> hIncrBy(String key, String item, long delta) {
+        return invalidating(reactiveRedisTemplate.opsForHash().increment(key, item, delta), key);
+    }
+
+    /**
+     * HEXISTS key field
+     * 功能描述：查看哈希表 key 中，给定域 field 是否存在。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param field 域
+     * @return true:存在，false:不存在
+     */
+    public Mono<Boolean> hExists(String key, String field) {
+        return reactiveRedisTemplate.opsForHash().hasKey(key, field);
+    }
+
+    /**
+     * HSCAN key cursor [MATCH pattern] [COUNT count]
+     * 功能描述：增量迭代哈希表中的域值对，按下游的请求逐批发送 HSCAN 。
+     * 时间复杂度：每次 HSCAN 为 O(1)，完整迭代为 O(N)
+     * @param key 键
+     * @param pattern 域的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 域值对
+     */
+    public Flux<Map.Entry<Object,Object>> hScan(String key, String pattern, long count) {
+        return reactiveRedisTemplate.opsForHash().scan(key, scanOptions(pattern, count));
+    }
+
+    //=============================List操作============================
+
+    /**
+     * LPUSH key value [value ...]
+     * 功能描述：将一个或多个值插入到列表 key 的表头。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param values 值
+     * @return 执行后列表的长度
+     */
+    public Mono<Long> lPush(String key, Object... values) {
+        return invalidating(reactiveRedisTemplate.opsForList().leftPushAll(key, values), key);
+    }
+
+    /**
+     * RPUSH key value [value ...]
+     * 功能描述：将一个或多个值插入到列表 key 的表尾。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param values 值
+     * @return 执行后列表的长度
+     */
+    public Mono<Long> rPush(String key, Object... values) {
+        return invalidating(reactiveRedisTemplate.opsForList().rightPushAll(key, values), key);
+    }
+
+    /**
+     * LPOP key
+     * 功能描述：移除并返回列表 key 的头元素。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 头元素，key 不存在时为空 Mono
+     */
+    public Mono<Object> lPop(String key) {
+        return invalidating(reactiveRedisTemplate.opsForList().leftPop(key), key);
+    }
+
+    /**
+     * RPOP key
+     * 功能描述：移除并返回列表 key 的尾元素。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 尾元素，key 不存在时为空 Mono
+     */
+    public Mono<Object> rPop(String key) {
+        return invalidating(reactiveRedisTemplate.opsForList().rightPop(key), key);
+    }
+
+    /**
+     * LRANGE key start stop
+     * 功能描述：返回列表 key 中指定区间内的元素，每页 {@link #DEFAULT_PAGE_SIZE} 个按需读取。
+     * 时间复杂度：每页 O(S+P)， S 为该页的偏移量， P 为页大小。
+     * @param key 键
+     * @param start 开始
+     * @param end 结束，-1 代表所有值
+     * @return 区间内的元素
+     */
+    public Flux<Object> lRange(String key, long start, long end) {
+        return lRange(key, start, end, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * LRANGE key start stop
+     * 功能描述：返回列表 key 中指定区间内的元素，每页 pageSize 个按需读取。
+     * 时间复杂度：每页 O(S+P)， S 为该页的偏移量， P 为页大小。
+     * 注意：start 为负数或 end 为 -1 以外的负数时不分页，一次读取整个区间。
+     * @param key 键
+     * @param start 开始
+     * @param end 结束，-1 代表所有值
+     * @param pageSize 每页元素数量
+     * @return 区间内的元素
+     */
+    public Flux<Object> lRange(String key, long start, long end, int pageSize) {
+        if (start < 0 || end < -1) {
+            return reactiveRedisTemplate.opsForList().range(key, start, end);
+        }
+        return paged(start, end, pageSize, (from, to) -> reactiveRedisTemplate.opsForList().range(key, from, to));
+    }
+
+    /**
+     * LLEN key
+     * 功能描述：返回列表 key 的长度。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 列表长度
+     */
+    public Mono<Long> lLen(String key) {
+        return reactiveRedisTemplate.opsForList().size(key);
+    }
+
+    //=============================Set操作============================
+
+    /**
+     * SADD key member [member ...]
+     * 功能描述：将一个或多个 member 元素加入到集合 key 当中，已经存在于集合的 member 元素将被忽略。
+     * 时间复杂度：O(N)， N 是被添加的元素的数量。
+     * @param key 键
+     * @param values 值
+     * @return 被添加到集合中的新元素的数量
+     */
+    public Mono<Long> sAdd(String key, Object... values) {
+        return invalidating(reactiveRedisTemplate.opsForSet().add(key, values), key);
+    }
+
+    /**
+     * SREM key member [member ...]
+     * 功能描述：移除集合 key 中的一个或多个 member 元素，不存在的 member 元素会被忽略。
+     * 时间复杂度：O(N)， N 为给定 member 元素的数量。
+     * @param key 键
+     * @param values 值
+     * @return 被成功移除的元素的数量
+     */
+    public Mono<Long> sRem(String key, Object... values) {
+        return invalidating(reactiveRedisTemplate.opsForSet().remove(key, values), key);
+    }
+
+    /**
+     * SISMEMBER key member
+     * 功能描述：判断 member 元素是否集合 key 的成员。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param o 值
+     * @return true:是成员，false:不是成员或 key 不存在
+     */
+    public Mono<Boolean> sIsMember(String key, Object o) {
+        return reactiveRedisTemplate.opsForSet().isMember(key, o);
+    }
+
+    /**
+     * SSCAN key cursor COUNT count
+     * 功能描述：返回集合 key 中的所有成员。与 SMEMBERS 不同，这里用 SSCAN 按下游的请求逐批读取。
+     * 时间复杂度：每次 SSCAN 为 O(1)，完整迭代为 O(N)
+     * 注意：迭代期间集合被修改时，同一个成员可能被返回多次。
+     * @param key 键
+     * @return 集合中的所有成员
+     */
+    public Flux<Object> sMembers(String key) {
+        return sScan(key, null, RedisUtils.DEFAULT_SCAN_COUNT);
+    }
+
+    /**
+     * SCARD key
+     * 功能描述：返回集合 key 的基数(集合中元素的数量)。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 集合的基数
+     */
+    public Mono<Long> sCard(String key) {
+        return reactiveRedisTemplate.opsForSet().size(key);
+    }
+
+    /**
+     * SSCAN key cursor [MATCH pattern] [COUNT count]
+     * 功能描述：增量迭代集合中的元素，按下游的请求逐批发送 SSCAN 。
+     * 时间复杂度：每次 SSCAN 为 O(1)，完整迭代为 O(N)
+     * @param key 键
+     * @param pattern 元素的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 集合元素
+     */
+    public Flux<Object> sScan(String key, String pattern, long count) {
+        return reactiveRedisTemplate.opsForSet().scan(key, scanOptions(pattern, count));
+    }
+
+    //=============================SortedSet操作============================
+
+    /**
+     * ZADD key score member
+     * 功能描述：将 member 元素及其 score 值加入到有序集 key 当中，已经是成员时更新 score 。
+     * 时间复杂度：O(log(N))
+     * @param key 键
+     * @param value 成员
+     * @param score 分值
+     * @return true:新增成员，false:更新已有成员的 score
+     */
+    public Mono<Boolean> zAdd(String key, Object value, double score) {
+        return invalidating(reactiveRedisTemplate.opsForZSet().add(key, value, score), key);
+    }
+
+    /**
+     * ZREM key member [member ...]
+     * 功能描述：移除有序集 key 中的一个或多个成员，不存在的成员将被忽略。
+     * 时间复杂度：O(M*log(N))， N 为有序集的基数， M 为被成功移除的成员的数量。
+     * @param key 键
+     * @param values 成员
+     * @return 被成功移除的成员的数量
+     */
+    public Mono<Long> remove(String key, Object... values) {
+        return invalidating(reactiveRedisTemplate.opsForZSet().remove(key, values), key);
+    }
+
+    /**
+     * ZSCORE key member
+     * 功能描述：返回有序集 key 中，成员 member 的 score 值。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param o 成员
+     * @return score 值，成员或 key 不存在时为空 Mono
+     */
+    public Mono<Double> score(String key, Object o) {
+        return reactiveRedisTemplate.opsForZSet().score(key, o);
+    }
+
+    /**
+     * ZINCRBY key increment member
+     * 功能描述：为有序集 key 的成员 member 的 score 值加上增量 delta 。
+     * 时间复杂度：O(log(N))
+     * @param key 键
+     * @param value 成员
+     * @param delta 增量
+     * @return 成员新的 score 值
+     */
+    public Mono<Double> zIncrBy(String key, Object value, double delta) {
+        return invalidating(reactiveRedisTemplate.opsForZSet().incrementScore(key, value, delta), key);
+    }
+
+    /**
+     * ZRANGE key start stop
+     * 功能描述：返回有序集 key 中指定区间内的成员，按 score 值递增排列，每页 {@link #DEFAULT_PAGE_SIZE} 个按需读取。
+     * 时间复杂度：每页 O(log(N)+P)， N 为有序集的基数， P 为页大小。
+     * 注意：start 为负数或 end 为 -1 以外的负数时不分页，一次读取整个区间。
+     * @param key 键
+     * @param start 开始
+     * @param end 结束，-1 代表所有成员
+     * @return 区间内的成员
+     */
+    public Flux<Object> range(String key, long start, long end) {
+        if (start < 0 || end < -1) {
+            return reactiveRedisTemplate.opsForZSet().range(key, closed(start, end));
+        }
+        return paged(start, end, DEFAULT_PAGE_SIZE, (from, to) -> reactiveRedisTemplate.opsForZSet().range(key, closed(from, to)));
+    }
+
+    /**
+     * ZRANGE key start stop WITHSCORES
+     * 功能描述：返回有序集 key 中指定区间内的成员和 score ，每页 {@link #DEFAULT_PAGE_SIZE} 个按需读取。
+     * 时间复杂度：每页 O(log(N)+P)， N 为有序集的基数， P 为页大小。
+     * @param key 键
+     * @param start 开始
+     * @param end 结束，-1 代表所有成员
+     * @return 区间内带 score 的成员
+     */
+    public Flux<ZSetOperations.TypedTuple<Object>> rangeWithScores(String key, long start, long end) {
+        if (start < 0 || end < -1) {
+            return reactiveRedisTemplate.opsForZSet().rangeWithScores(key, closed(start, end));
+        }
+        return paged(start, end, DEFAULT_PAGE_SIZE, (from, to) -> reactiveRedisTemplate.opsForZSet().rangeWithScores(key, closed(from, to)));
+    }
+
+    /**
+     * ZRANGEBYSCORE key min max LIMIT offset count
+     * 功能描述：返回有序集 key 中 score 值介于 min 和 max 之间(包括等于 min 或 max )的成员，按 score 值递增排列，每页 {@link #DEFAULT_PAGE_SIZE} 个按需读取。
+     * 时间复杂度：每页 O(log(N)+O+P)， N 为有序集的基数， O 为该页的偏移量， P 为页大小。
+     * @param key 键
+     * @param min 最小分值
+     * @param max 最大分值
+     * @return 区间内的成员
+     */
+    public Flux<Object> rangeByScore(String key, double min, double max) {
+        Range<Double> range = closed(min, max);
+        return paged(0, -1, DEFAULT_PAGE_SIZE, (from, to) -> reactiveRedisTemplate.opsForZSet().rangeByScore(key, range,
+                RedisZSetCommands.Limit.limit().offset(from.intValue()).count((int) (to - from + 1))));
+    }
+
+    /**
+     * ZCARD key
+     * 功能描述：返回有序集 key 的基数。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @return 有序集的基数
+     */
+    public Mono<Long> zCard(String key) {
+        return reactiveRedisTemplate.opsForZSet().size(key);
+    }
+
+    /**
+     * ZSCAN key cursor [MATCH pattern] [COUNT count]
+     * 功能描述：增量迭代有序集中的成员和 score ，按下游的请求逐批发送 ZSCAN 。
+     * 时间复杂度：每次 ZSCAN 为 O(1)，完整迭代为 O(N)
+     * @param key 键
+     * @param pattern 成员的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 带 score 的成员
+     */
+    public Flux<ZSetOperations.TypedTuple<Object>> zScan(String key, String pattern, long count) {
+        return reactiveRedisTemplate.opsForZSet().scan(key, scanOptions(pattern, count));
+    }
+
+    //=============================内部方法============================
+
+    /**
+     * 按页读取 [start, end] 区间，下游每请求完一页才读取下一页；某一页不足 pageSize 时结束
+     * @param end 结束，-1 表示读到末尾
+     * @param page 读取 [from, to] 的一页
+     */
+    private static <T> Flux<T> paged(long start, long end, int pageSize, BiFunction<Long, Long, Flux<T>> page) {
+        return Flux.<Long, Long>generate(() -> start, (offset, sink) -> {
+                    sink.next(offset);
+                    return offset + pageSize;
+                })
+                .takeWhile(offset -> end == -1 || offset <= end)
+                .concatMap(offset -> page.apply(offset, end == -1 ? offset + pageSize - 1 : Math.min(offset + pageSize - 1, end)).collectList(), 1)
+                .takeUntil(list -> list.size() < pageSize)
+                .flatMapIterable(list -> list, 1);
+    }
+
+    /**
+     * 写操作完成(成功、失败或取消)后使近端缓存中的 key 失效
+     */
+    private <T> Mono<T> invalidating(Mono<T> mono, String... keys) {
+        if (nearCache == null) {
+            return mono;
+        }
+        return mono.doFinally(signal -> {
+            for (String key : keys) {
+                nearCache.invalidate(key);
+            }
+        });
+    }
+
+    private static <T extends Comparable<T>> Range<T> closed(T min, T max) {
+        return Range.of(Range.Bound.inclusive(min), Range.Bound.inclusive(max));
+    }
+
+    private static ScanOptions scanOptions(String pattern, long count) {
+        ScanOptions.ScanOptionsBuilder builder = ScanOptions.scanOptions().count(count);
+        if (pattern != null) {
+            builder.match(pattern);
+        }
+        return builder.build();
+    }
+
+}
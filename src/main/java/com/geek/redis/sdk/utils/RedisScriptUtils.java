@@ -0,0 +1,216 @@
+package com.geek.redis.sdk.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis Lua 脚本工具类
+ * 脚本注册后只计算一次 SHA1 ，执行时先发送 EVALSHA ，服务端返回 NOSCRIPT(重启、SCRIPT FLUSH、切换节点)时自动改用 EVAL 并由服务端缓存。
+ * 内置的复合操作把原来需要 2~3 次往返的 RedisUtils 调用合并为一次，并且是原子的。
+ * 参数约定：KEYS 使用 RedisTemplate 的 key 序列化器；ARGV 中 byte[] 原样传递，其他类型按 toString 传递，
+ * 需要与 RedisUtils 读写格式一致的值/域由内置方法先用 value/hashKey 序列化器编码；批量回复按 value 序列化器解码。
+ * 注意：脚本执行期间 Redis 不处理其他命令，脚本内不要遍历大集合；集群模式下脚本涉及的 key 必须在同一个 slot 。
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 18:05
+ * @version: 1.0
+ */
+public final class RedisScriptUtils {
+
+    /**
+     * INCRBY 后仅在 key 没有过期时间时设置过期时间，计数窗口不会被后续的自增延长
+     */
+    public static final RedisScript<Long> INCR_WITH_EXPIRE = new DefaultRedisScript<>(
+            "local v = redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+            "if tonumber(ARGV[2]) > 0 and redis.call('TTL', KEYS[1]) == -1 then redis.call('EXPIRE', KEYS[1], ARGV[2]) end " +
+            "return v", Long.class);
+
+    /**
+     * HINCRBY 后仅在 key 没有过期时间时设置过期时间
+     */
+    public static final RedisScript<Long> HINCR_WITH_EXPIRE = new DefaultRedisScript<>(
+            "local v = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "if tonumber(ARGV[3]) > 0 and redis.call('TTL', KEYS[1]) == -1 then redis.call('EXPIRE', KEYS[1], ARGV[3]) end " +
+            "return v", Long.class);
+
+    /**
+     * HSET 后刷新整个 key 的过期时间
+     */
+    public static final RedisScript<Long> HSET_WITH_TTL = new DefaultRedisScript<>(
+            "local v = redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) " +
+            "if tonumber(ARGV[3]) > 0 then redis.call('EXPIRE', KEYS[1], ARGV[3]) end " +
+            "return v", Long.class);
+
+    /**
+     * LPUSH 后 LTRIM 保留最新的 maxLen 个元素，并刷新过期时间
+     */
+    public static final RedisScript<Long> LPUSH_TRIM_EXPIRE = new DefaultRedisScript<>(
+            "local n = redis.call('LPUSH', KEYS[1], ARGV[1]) " +
+            "local max = tonumber(ARGV[2]) " +
+            "if max > 0 and n > max then redis.call('LTRIM', KEYS[1], 0, max - 1) n = max end " +
+            "if tonumber(ARGV[3]) > 0 then redis.call('EXPIRE', KEYS[1], ARGV[3]) end " +
+            "return n", Long.class);
+
+    private static final RedisSerializer<Object> ARGS_SERIALIZER = new ArgsSerializer();
+
+    private final Map<String, RedisScript<?>> scripts = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RedisTemplate<String,Object> redisTemplate;
+
+    @Autowired(required = false)
+    private NearCache nearCache;
+
+    //=============================脚本注册与执行============================
+
+    /**
+     * 注册脚本，同名脚本会被覆盖
+     * @param name 脚本名称
+     * @param script Lua 脚本
+     * @param resultType 返回类型：Long、Boolean、List、String(状态回复) 或 null(无返回值)
+     * @return 注册后的脚本，可直接传给 {@link #execute(RedisScript, List, Object...)}
+     */
+    public <T> RedisScript<T> register(String name, String script, Class<T> resultType) {
+        Assert.hasText(name, "name must not be empty");
+        RedisScript<T> redisScript = new DefaultRedisScript<>(script, resultType);
+        scripts.put(name, redisScript);
+        return redisScript;
+    }
+
+    /**
+     * 执行已注册的脚本
+     * @param name 脚本名称
+     * @param keys 脚本访问的 key ，执行后这些 key 在近端缓存中失效
+     * @param args 脚本参数
+     * @return 脚本返回值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, List<String> keys, Object... args) {
+        RedisScript<T> script = (RedisScript<T>) scripts.get(name);
+        Assert.notNull(script, "script '" + name + "' is not registered");
+        return execute(script, keys, args);
+    }
+
+    /**
+     * EVALSHA sha1 numkeys key [key ...] arg [arg ...] ，NOSCRIPT 时改用 EVAL
+     * @param script 脚本
+     * @param keys 脚本访问的 key ，执行后这些 key 在近端缓存中失效
+     * @param args 脚本参数
+     * @return 脚本返回值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        try {
+            return redisTemplate.execute(script, ARGS_SERIALIZER, (RedisSerializer<T>) redisTemplate.getValueSerializer(), keys, args);
+        } finally {
+            if (nearCache != null) {
+                keys.forEach(nearCache::invalidate);
+            }
+        }
+    }
+
+    //=============================内置复合操作============================
+
+    /**
+     * INCRBY key delta + EXPIRE key seconds
+     * 功能描述：自增并在 key 首次创建(没有过期时间)时设置过期时间，适合固定窗口计数、限流。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param delta 增量
+     * @param time 时间(秒)，小于等于0时不设置过期时间
+     * @return 自增后的值
+     */
+    public Long incrWithExpire(String key, long delta, long time) {
+        return execute(INCR_WITH_EXPIRE, Collections.singletonList(key), delta, time);
+    }
+
+    /**
+     * HINCRBY key field delta + EXPIRE key seconds
+     * 功能描述：哈希域自增并在 key 首次创建(没有过期时间)时设置过期时间。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param item 域
+     * @param delta 增量
+     * @param time 时间(秒)，小于等于0时不设置过期时间
+     * @return 自增后的值
+     */
+    public Long hIncrWithExpire(String key, String item, long delta, long time) {
+        return execute(HINCR_WITH_EXPIRE, Collections.singletonList(key), rawHashKey(item), delta, time);
+    }
+
+    /**
+     * HSET key field value + EXPIRE key seconds
+     * 功能描述：设置哈希域并刷新整个 key 的过期时间，值的格式与 RedisUtils.hset 一致。
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param item 域
+     * @param value 值
+     * @param time 时间(秒)，小于等于0时不设置过期时间
+     * @return 1:新建的域，0:覆盖已有的域
+     */
+    public Long hSetWithTtl(String key, String item, Object value, long time) {
+        return execute(HSET_WITH_TTL, Collections.singletonList(key), rawHashKey(item), rawHashValue(value), time);
+    }
+
+    /**
+     * LPUSH key value + LTRIM key 0 maxLen-1 + EXPIRE key seconds
+     * 功能描述：把值插入列表头部，只保留最新的 maxLen 个元素，适合「最近 N 条」类的列表；值的格式与 RedisUtils.lPush 一致。
+     * 时间复杂度：O(1)，超出的元素较多时 LTRIM 为 O(M)， M 为被移除的元素数量
+     * @param key 键
+     * @param value 值
+     * @param maxLen 保留的最大长度，小于等于0时不裁剪
+     * @param time 时间(秒)，小于等于0时不设置过期时间
+     * @return 执行后列表的长度
+     */
+    public Long lPushTrimExpire(String key, Object value, long maxLen, long time) {
+        return execute(LPUSH_TRIM_EXPIRE, Collections.singletonList(key), rawValue(value), maxLen, time);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawHashKey(Object hashKey) {
+        return ((RedisSerializer<Object>) redisTemplate.getHashKeySerializer()).serialize(hashKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawHashValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getHashValueSerializer()).serialize(value);
+    }
+
+    /**
+     * 脚本参数序列化：byte[] 原样传递，其他按 toString 以 UTF-8 编码
+     */
+    private static final class ArgsSerializer implements RedisSerializer<Object> {
+
+        @Override
+        public byte[] serialize(Object o) {
+            if (o == null) {
+                return new byte[0];
+            }
+            if (o instanceof byte[]) {
+                return (byte[]) o;
+            }
+            return String.valueOf(o).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return bytes == null ? null : Arrays.copyOf(bytes, bytes.length);
+        }
+    }
+
+}
@@ -1,20 +1,32 @@
 package com.geek.redis.sdk.utils;
 
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import com.geek.redis.sdk.utils.ReplicaReadRouter.ReadGroup;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.connection.DataType;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.connection.RedisZSetCommands;
 import org.springframework.data.redis.core.BulkMapper;
+import org.springframework.data.redis.core.ConvertingCursor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.data.redis.core.query.SortQuery;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Redis 工具类
@@ -25,9 +37,32 @@ import java.util.concurrent.TimeUnit;
  */
 public final class RedisUtils {
 
+    /**
+     * SCAN 系列命令默认每次迭代的 COUNT
+     */
+    public static final long DEFAULT_SCAN_COUNT = 1000;
+
     @Autowired
     private RedisTemplate<String,Object> redisTemplate;
 
+    /**
+     * 可选的近端缓存，存在时 get / hget 优先读取本地，写操作会使本地对应的 key 失效
+     */
+    @Autowired(required = false)
+    private NearCache nearCache;
+
+    /**
+     * 删除方式和渐进删除的默认参数，取自 redis.sdk.delete
+     */
+    @Autowired(required = false)
+    private RedisSdkProperties properties;
+
+    /**
+     * 可选的从节点读路由，存在时只读命令按 redis.sdk.replica-read.groups 读从节点
+     */
+    @Autowired(required = false)
+    private ReplicaReadRouter replicaReadRouter;
+
     //=============================RedisTemplate针对Key操作============================
 
     /**
@@ -42,7 +77,14 @@ public final class RedisUtils {
      * @return True:删除成功，false:删除失败
      */
     public Boolean del(String key){
-       return redisTemplate.delete(key);
+        if (isUnlinkOnDelete()) {
+            return unlink(key);
+        }
+        try {
+            return redisTemplate.delete(key);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -57,7 +99,152 @@ public final class RedisUtils {
      * @return 被删除 key 的数量。
      */
     public Long del(String ... keys){
-       return redisTemplate.delete(CollectionUtils.arrayToList(keys));
+        if (isUnlinkOnDelete()) {
+            return unlink(keys);
+        }
+        try {
+            return redisTemplate.delete(CollectionUtils.arrayToList(keys));
+        } finally {
+            invalidate(keys);
+        }
+    }
+
+    /**
+     * UNLINK key
+     * 功能描述：与 DEL 相同地删除 key ，但只在主线程上把 key 从键空间中摘除，值的内存由后台线程释放，删除大集合时不会阻塞其他客户端。
+     *           设置 redis.sdk.delete.unlink=true 后 del 也会改用 UNLINK 。
+     * 可用版本：>= 4.0.0
+     * 时间复杂度：摘除每个 key 为 O(1) ，内存回收为 O(N) ，在后台线程执行。
+     * @param key 键
+     * @return True:删除成功，false:key 不存在
+     */
+    public Boolean unlink(String key){
+        try {
+            return redisTemplate.unlink(key);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * UNLINK key [key ...]
+     * 功能描述：与 {@link #unlink(String)} 相同，一次删除多个 key 。
+     * 可用版本：>= 4.0.0
+     * 时间复杂度：摘除每个 key 为 O(1) ，内存回收在后台线程执行。
+     * @param keys 多个键
+     * @return 被删除 key 的数量。
+     */
+    public Long unlink(String ... keys){
+        try {
+            return redisTemplate.unlink(Arrays.asList(keys));
+        } finally {
+            invalidate(keys);
+        }
+    }
+
+    /**
+     * 渐进删除，使用 redis.sdk.delete 的 batch-size 和 pause
+     * @param key 键
+     * @return 逐批删除的元素数量
+     * @see #delProgressively(String, int, long)
+     */
+    public long delProgressively(String key){
+        RedisSdkProperties.Delete delete = deleteOptions();
+        return delProgressively(key, delete.getBatchSize(), delete.getPause().toMillis());
+    }
+
+    /**
+     * 功能描述：分批删除大集合的元素，每批之间暂停 pauseMillis ，最后 UNLINK 剩下的空 key ，单次命令的阻塞时间只与 batchSize 有关。
+     *           哈希表：HSCAN + HDEL ；集合：SSCAN + SREM ；有序集合：ZREMRANGEBYRANK 0 batchSize-1 ；列表：LTRIM batchSize -1 ；其他类型直接 UNLINK 。
+     *           删除期间 key 仍然可见，读到的是部分删除的数据；其他客户端同时写入的元素可能一起被删除。
+     * 可用版本：>= 4.0.0
+     * 时间复杂度：每批 O(batchSize) ，总共 O(N) 。
+     * 注意：调用线程会被阻塞到删除完成，大约 N / batchSize * pauseMillis ；线程被中断时停止删除，剩余元素保留。
+     * @param key 键
+     * @param batchSize 每批删除的元素数量
+     * @param pauseMillis 每批之间暂停的毫秒数，为 0 时不暂停
+     * @return 逐批删除的元素数量
+     */
+    public long delProgressively(String key, int batchSize, long pauseMillis){
+        byte[] rawKey = rawKey(key);
+        try {
+            Long removed = redisTemplate.execute((RedisCallback<Long>) connection -> {
+                DataType type = connection.type(rawKey);
+                long count = 0;
+                if (type == DataType.HASH) {
+                    count = drain(connection.hScan(rawKey, ScanOptions.scanOptions().count(batchSize).build()), Map.Entry::getKey,
+                            fields -> connection.hDel(rawKey, fields), batchSize, pauseMillis);
+                } else if (type == DataType.SET) {
+                    count = drain(connection.sScan(rawKey, ScanOptions.scanOptions().count(batchSize).build()), Function.identity(),
+                            members -> connection.sRem(rawKey, members), batchSize, pauseMillis);
+                } else if (type == DataType.ZSET) {
+                    Long n;
+                    while ((n = connection.zRemRange(rawKey, 0, batchSize - 1)) != null && n > 0) {
+                        count += n;
+                        if (!pause(pauseMillis)) {
+                            return count;
+                        }
+                    }
+                } else if (type == DataType.LIST) {
+                    Long size;
+                    while ((size = connection.lLen(rawKey)) != null && size > 0) {
+                        connection.lTrim(rawKey, batchSize, -1);
+                        count += Math.min(size, batchSize);
+                        if (!pause(pauseMillis)) {
+                            return count;
+                        }
+                    }
+                }
+                if (!Thread.currentThread().isInterrupted()) {
+                    connection.unlink(rawKey);
+                }
+                return count;
+            });
+            return removed == null ? 0 : removed;
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * 按模式清除，使用 redis.sdk.delete 的 batch-size 和 pause
+     * @param pattern 匹配模式
+     * @return 被删除 key 的数量
+     * @see #purge(String, int, long)
+     */
+    public long purge(String pattern){
+        RedisSdkProperties.Delete delete = deleteOptions();
+        return purge(pattern, delete.getBatchSize(), delete.getPause().toMillis());
+    }
+
+    /**
+     * 功能描述：用 SCAN 找出符合 pattern 的 key ，每攒够 batchSize 个 UNLINK 一次，每批之间暂停 pauseMillis ，代替 KEYS + DEL 。
+     *           迭代期间新写入的匹配 key 可能不会被删除。
+     * 可用版本：>= 4.0.0
+     * 时间复杂度：O(N) ， N 为数据库中 key 的数量，分散在多次 SCAN 中。
+     * 注意：单个 key 本身很大时，内存仍由 UNLINK 在后台释放；线程被中断时停止清除。
+     * @param pattern 匹配模式
+     * @param batchSize 每批删除的 key 数量，也是 SCAN 的 COUNT
+     * @param pauseMillis 每批之间暂停的毫秒数，为 0 时不暂停
+     * @return 被删除 key 的数量
+     */
+    public long purge(String pattern, int batchSize, long pauseMillis){
+        long count = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Cursor<String> cursor = scan(pattern, batchSize)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    count += unlinkBatch(batch);
+                    if (!pause(pauseMillis)) {
+                        return count;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count + unlinkBatch(batch);
     }
 
     /**
@@ -76,7 +263,7 @@ public final class RedisUtils {
      * @return 如果 key 不存在，那么返回 nil 。否则，返回序列化之后的值。
      */
     public byte[] dump(String  key){
-       return redisTemplate.dump(key);
+       return read(ReadGroup.KEY, t -> t.dump(key));
     }
 
     /**
@@ -88,7 +275,7 @@ public final class RedisUtils {
      * @return true 存在 false不存在
      */
     public boolean exists(String key){
-        return redisTemplate.hasKey(key);
+        return read(ReadGroup.KEY, t -> t.hasKey(key));
     }
 
     /**
@@ -139,11 +326,46 @@ public final class RedisUtils {
      *          KEYS 的速度非常快，但在一个大的数据库中使用它仍然可能造成性能问题，如果你需要从一个数据集中查找特定的 key ，你最好还是用 Redis 的集合结构(set)来代替。
      * 可用版本：>= 1.0.0
      * 时间复杂度：O(N)， N 为数据库中 key 的数量。
+     * 注意：KEYS 会在执行期间阻塞整个 Redis，这里改为通过 SCAN 分批迭代，返回结果与 KEYS 相同，但不会长时间阻塞服务器。
+     *       结果仍会全部加载到内存，key 数量很大时请直接使用 {@link #scanStream(String, long)} 。
      * @param pattern
      * @return 符合给定模式的 key 列表。
      */
     public Set<String> keys(String pattern){
-        return  redisTemplate.keys(pattern);
+        try (Stream<String> keys = scanStream(pattern, DEFAULT_SCAN_COUNT)) {
+            return keys.collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * SCAN cursor [MATCH pattern] [COUNT count]
+     * 功能描述：增量地迭代当前数据库中的 key ，每次只向服务器取一页，不会像 KEYS 那样阻塞服务器。
+     *           返回的 Cursor 是惰性的，遍历到当前页末尾时才会发送下一次 SCAN 。
+     *           迭代期间一直被修改的 key 可能被返回多次，调用方需要自行去重。
+     * 可用版本：>= 2.8.0
+     * 时间复杂度：每次调用 O(1) ，完整迭代一次为 O(N) ， N 为数据库中 key 的数量。
+     * 注意：Cursor 会占用一个连接，使用完毕(包括提前结束)必须调用 close() ，建议使用 try-with-resources 。
+     * @param pattern 匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 符合给定模式的 key 的游标
+     */
+    @SuppressWarnings("unchecked")
+    public Cursor<String> scan(String pattern, long count){
+        ScanOptions options = scanOptions(pattern, count);
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        return redisTemplate.executeWithStickyConnection(
+                connection -> new ConvertingCursor<>(connection.scan(options), keySerializer::deserialize));
+    }
+
+    /**
+     * SCAN cursor [MATCH pattern] [COUNT count]
+     * 功能描述：与 {@link #scan(String, long)} 相同，以惰性 Stream 的形式返回，关闭 Stream 时关闭游标。
+     * @param pattern 匹配模式
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 符合给定模式的 key 的 Stream，使用完毕必须 close()
+     */
+    public Stream<String> scanStream(String pattern, long count){
+        return toStream(scan(pattern, count));
     }
 
     //MIGRATE暂时未找到对应的方法
@@ -160,7 +382,11 @@ public final class RedisUtils {
      * @return 移动成功返回 true ，失败则返回 false
      */
     public Boolean move(String key, int dbIndex){
-        return  redisTemplate.move(key,dbIndex);
+        try {
+            return redisTemplate.move(key,dbIndex);
+        } finally {
+            invalidate(key);
+        }
     }
 
     //OBJECT暂时未找到对应的方法
@@ -214,7 +440,7 @@ public final class RedisUtils {
      * @return  当 key 不存在时，返回 -2 。当 key 存在但没有设置剩余生存时间时，返回 -1 。否则，以毫秒为单位，返回 key 的剩余生存时间。
      */
     public long pttl(String key){
-        return redisTemplate.getExpire(key,TimeUnit.MICROSECONDS);
+        return read(ReadGroup.KEY, t -> t.getExpire(key,TimeUnit.MICROSECONDS));
     }
 
 
@@ -226,7 +452,7 @@ public final class RedisUtils {
      * @return 当数据库不为空时，返回一个 key 。当数据库为空时，返回 nil 。
      */
     public Object randomKey() {
-        return redisTemplate.randomKey();
+        return read(ReadGroup.KEY, t -> t.randomKey());
     }
 
     /**
@@ -240,7 +466,11 @@ public final class RedisUtils {
      * @param newKey
      */
     public void rename(String oldKey, String newKey) {
-         redisTemplate.rename(oldKey,newKey);
+        try {
+            redisTemplate.rename(oldKey,newKey);
+        } finally {
+            invalidate(oldKey, newKey);
+        }
     }
 
     /**
@@ -253,7 +483,11 @@ public final class RedisUtils {
      * @return 修改成功时，返回 true 。如果 newkey 已经存在，返回 false 。
      */
     public Boolean renamenx(String oldKey, String newKey) {
-       return redisTemplate.renameIfAbsent(oldKey,newKey);
+        try {
+            return redisTemplate.renameIfAbsent(oldKey,newKey);
+        } finally {
+            invalidate(oldKey, newKey);
+        }
     }
 
     /**
@@ -271,7 +505,11 @@ public final class RedisUtils {
      * @param replace
      */
     public void restore(String key, byte[] value, long timeToLive, TimeUnit unit, boolean replace) {
-        redisTemplate.restore(key, value, timeToLive,  unit,  replace);
+        try {
+            redisTemplate.restore(key, value, timeToLive,  unit,  replace);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -339,7 +577,7 @@ public final class RedisUtils {
      * @return  当 key 不存在时，返回 -2 。当 key 存在但没有设置剩余生存时间时，返回 -1 。否则，以毫秒为单位，返回 key 的剩余生存时间。
      */
     public long ttl(String key){
-        return redisTemplate.getExpire(key,TimeUnit.SECONDS);
+        return read(ReadGroup.KEY, t -> t.getExpire(key,TimeUnit.SECONDS));
     }
 
     /**
@@ -357,7 +595,7 @@ public final class RedisUtils {
      *      6、hash (哈希表)
      */
     public DataType type(String key) {
-        return redisTemplate.type(key);
+        return read(ReadGroup.KEY, t -> t.type(key));
     }
 
     //SCAN暂未找到对应的方法
@@ -375,7 +613,11 @@ public final class RedisUtils {
      * @return 追加 value 之后， key 中字符串的长度。
      */
     public Integer append(String key,String value){
-       return redisTemplate.opsForValue().append(key,value);
+        try {
+            return redisTemplate.opsForValue().append(key,value);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -396,10 +638,10 @@ public final class RedisUtils {
      * @return 被设置为 1 的位的数量。
      */
     public Long bitCount(final String key) {
-        return redisTemplate.execute((RedisConnection connection) ->{
+        return read(ReadGroup.BIT, t -> t.execute((RedisConnection connection) ->{
             Long result = connection.bitCount(key.getBytes());
             return result;
-        });
+        }));
     }
 
     /**
@@ -410,10 +652,10 @@ public final class RedisUtils {
      * @return
      */
     public Long bitCount(final String key, long start, long end) {
-        return redisTemplate.execute((RedisConnection connection) ->{
+        return read(ReadGroup.BIT, t -> t.execute((RedisConnection connection) ->{
             Long result = connection.bitCount(key.getBytes(),start,end);
             return result;
-        });
+        }));
     }
 
     /**
@@ -430,7 +672,7 @@ public final class RedisUtils {
      *           空的 key 也被看作是包含 0 的字符串序列。
      * 可用版本：>= 2.6.0
      * 时间复杂度：O(N)
-     * 注意：BITOP 的复杂度为 O(N) ，当处理大型矩阵(matrix)或者进行大数据量的统计时，最好将任务指派到附属节点(slave)进行，避免阻塞主节点。
+     * 注意：BITOP 的复杂度为 O(N) ，当处理大型矩阵(matrix)或者进行大数据量的统计时，最好将任务指派到附属节点(slave)进行，避免阻塞主节点。BITOP 会写入 destkey ，只读的从节点无法执行，这里始终在主节点执行。
      * @param op
      * @param key1
      * @param key2
@@ -456,7 +698,11 @@ public final class RedisUtils {
      * @return 执行 DECR 命令之后 key 的值。
      */
     public Long decrement(String key){
-        return redisTemplate.opsForValue().decrement(key);
+        try {
+            return redisTemplate.opsForValue().decrement(key);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -473,7 +719,11 @@ public final class RedisUtils {
      * @return 减去 decrement 之后， key 的值。
      */
     public Long decrement(String key,long delta){
-        return redisTemplate.opsForValue().decrement(key,delta);
+        try {
+            return redisTemplate.opsForValue().decrement(key,delta);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -483,11 +733,21 @@ public final class RedisUtils {
      *           假如 key 储存的值不是字符串类型，返回一个错误，因为 GET 只能用于处理字符串值。
      * 可用版本：>= 1.0.0
      * 时间复杂度：O(1)
+     * 注意：启用近端缓存时优先返回本地缓存的对象，返回的对象不能被修改；未命中时读主节点，不经过从节点读路由。
      * @param key 键
      * @return  当 key 不存在时，返回 nil ，否则，返回 key 的值。如果 key 不是字符串类型，那么返回一个错误。
      */
     public Object get(String key){
-        return  redisTemplate.opsForValue().get(key);
+        if (nearCache == null) {
+            return read(ReadGroup.STRING, t -> t.opsForValue().get(key));
+        }
+        Object value = nearCache.get(key);
+        if (value == null) {
+            long stamp = nearCache.stamp(key);
+            value = redisTemplate.opsForValue().get(key);
+            nearCache.put(key, value, stamp);
+        }
+        return value;
     }
 
     /**
@@ -501,7 +761,7 @@ public final class RedisUtils {
      * @return 字符串值指定偏移量上的位(bit)。
      */
     public Boolean getBit(String key, long offset){
-        return  redisTemplate.opsForValue().getBit(key,offset);
+        return read(ReadGroup.BIT, t -> t.opsForValue().getBit(key,offset));
     }
 
     /**
@@ -519,7 +779,7 @@ public final class RedisUtils {
      * @return 截取得出的子字符串。
      */
     public String getRange(String key, long start, long end){
-        return  redisTemplate.opsForValue().get(key,start,end);
+        return read(ReadGroup.STRING, t -> t.opsForValue().get(key,start,end));
     }
 
     /**
@@ -532,7 +792,11 @@ public final class RedisUtils {
      * @return 返回给定 key 的旧值。当 key 没有旧值时，也即是， key 不存在时，返回 nil 。
      */
     public Object getSet(String key, String value){
-        return  redisTemplate.opsForValue().getAndSet(key,value);
+        try {
+            return redisTemplate.opsForValue().getAndSet(key,value);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -546,7 +810,11 @@ public final class RedisUtils {
      * @return 执行 INCR 命令之后 key 的值。
      */
     public Long incr(String key){
-        return  redisTemplate.opsForValue().increment(key);
+        try {
+            return redisTemplate.opsForValue().increment(key);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -561,7 +829,11 @@ public final class RedisUtils {
      * @return 加上 increment 之后， key 的值。
      */
     public Long incrBy(String key, long delta){
-        return  redisTemplate.opsForValue().increment(key,delta);
+        try {
+            return redisTemplate.opsForValue().increment(key,delta);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -583,7 +855,11 @@ public final class RedisUtils {
      * @return 执行命令之后 key 的值。
      */
     public Double incrByFloat(String key, double delta){
-        return  redisTemplate.opsForValue().increment(key,delta);
+        try {
+            return redisTemplate.opsForValue().increment(key,delta);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -595,7 +871,7 @@ public final class RedisUtils {
      * @return 一个包含所有给定 key 的值的列表。
      */
     public List<Object> mGet(Collection<String> keys){
-        return  redisTemplate.opsForValue().multiGet(keys);
+        return read(ReadGroup.STRING, t -> t.opsForValue().multiGet(keys));
     }
 
     /**
@@ -614,6 +890,8 @@ public final class RedisUtils {
             return true;
         }catch (Exception e){
             return false;
+        } finally {
+            invalidate(map.keySet());
         }
     }
 
@@ -628,7 +906,11 @@ public final class RedisUtils {
      * @return 当所有 key 都成功设置，返回 true 。如果所有给定 key 都设置失败(至少有一个 key 已经存在)，那么返回 false 。
      */
     public Boolean mSetNX(Map<String,Object> map){
-       return redisTemplate.opsForValue().multiSetIfAbsent(map);
+        try {
+            return redisTemplate.opsForValue().multiSetIfAbsent(map);
+        } finally {
+            invalidate(map.keySet());
+        }
     }
 
     /**
@@ -651,6 +933,8 @@ public final class RedisUtils {
             return true;
         } catch (Exception e) {
             return false;
+        } finally {
+            invalidate(key);
         }
     }
 
@@ -678,8 +962,9 @@ public final class RedisUtils {
             return true;
         } catch (Exception e) {
             return false;
+        } finally {
+            invalidate(key);
         }
-
     }
 
     /**
@@ -698,7 +983,11 @@ public final class RedisUtils {
      * @return true:成功，false:失败
      */
     public Boolean setBit(String key, long offset, boolean value){
-        return  redisTemplate.opsForValue().setBit(key, offset,value);
+        try {
+            return redisTemplate.opsForValue().setBit(key, offset,value);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -722,6 +1011,8 @@ public final class RedisUtils {
             return true;
         } catch (Exception e) {
             return false;
+        } finally {
+            invalidate(key);
         }
     }
 
@@ -736,7 +1027,29 @@ public final class RedisUtils {
      * @return true:成功，false:失败
      */
     public Boolean setNX(String key, String value){
-       return redisTemplate.opsForValue().setIfAbsent(key, value);
+        try {
+            return redisTemplate.opsForValue().setIfAbsent(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * SET key value EX seconds NX
+     * 功能描述：当且仅当 key 不存在时设置值和过期时间，一条命令完成，不会出现 SETNX 成功后 EXPIRE 前进程退出导致 key 永不过期。
+     * 可用版本：>= 2.6.12
+     * 时间复杂度：O(1)
+     * @param key 键
+     * @param value 值
+     * @param time 时间(秒) 必须大于0
+     * @return true:成功，false:key 已存在
+     */
+    public Boolean setNX(String key, Object value, long time){
+        try {
+            return redisTemplate.opsForValue().setIfAbsent(key, value, time, TimeUnit.SECONDS);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -762,6 +1075,8 @@ public final class RedisUtils {
             return true;
         } catch (Exception e) {
             return false;
+        } finally {
+            invalidate(key);
         }
     }
 
@@ -774,7 +1089,7 @@ public final class RedisUtils {
      * @return 字符串值的长度。当 key 不存在时，返回 0 。
      */
     public Long strLen(String key){
-        return redisTemplate.opsForValue().size(key);
+        return read(ReadGroup.STRING, t -> t.opsForValue().size(key));
     }
 
     //================================RedisTemplate针对Hash操作=================================
@@ -790,7 +1105,11 @@ public final class RedisUtils {
      * @return 被成功移除的域的数量，不包括被忽略的域。
      */
     public Long hdel(String key, Object... field){
-        return redisTemplate.opsForHash().delete(key,field);
+        try {
+            return redisTemplate.opsForHash().delete(key,field);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -803,7 +1122,7 @@ public final class RedisUtils {
      * @return true：存在 false：不存在
      */
     public Boolean hExists(String key, String field){
-        return redisTemplate.opsForHash().hasKey(key, field);
+        return read(ReadGroup.HASH, t -> t.opsForHash().hasKey(key, field));
     }
 
     /**
@@ -811,12 +1130,22 @@ public final class RedisUtils {
      * 功能描述：返回哈希表 key 中给定域 field 的值。
      * 可用版本：>= 2.0.0
      * 时间复杂度：O(1)
+     * 注意：启用近端缓存时优先返回本地缓存的对象，返回的对象不能被修改；未命中时读主节点，不经过从节点读路由。
      * @param key 键 不能为null
      * @param field 项 不能为null
      * @return 给定域的值。当给定域不存在或是给定 key 不存在时，返回 nil 。
      */
     public Object hget(String key,String field){
-        return redisTemplate.opsForHash().get(key, field);
+        if (nearCache == null) {
+            return read(ReadGroup.HASH, t -> t.opsForHash().get(key, field));
+        }
+        Object value = nearCache.getField(key, field);
+        if (value == null) {
+            long stamp = nearCache.stamp(key);
+            value = redisTemplate.opsForHash().get(key, field);
+            nearCache.putField(key, field, value, stamp);
+        }
+        return value;
     }
 
     /**
@@ -824,11 +1153,12 @@ public final class RedisUtils {
      * 功能描述：返回哈希表 key 中，所有的域和值。在返回值里，紧跟每个域名(field name)之后是域的值(value)，所以返回值的长度是哈希表大小的两倍。
      * 可用版本：>= 2.0.0
      * 时间复杂度：O(N)， N 为哈希表的大小。
+     * 注意：大哈希表请使用 {@link #hScan(String, String, long)} 分页迭代。
      * @param key 键
      * @return 以键值对形式返回哈希表的域和域的值。若 key 不存在，返回空列表。
      */
     public Map<Object,Object> hGetAll(String key){
-        return redisTemplate.opsForHash().entries(key);
+        return read(ReadGroup.HASH, t -> t.opsForHash().entries(key));
     }
 
     /**
@@ -844,7 +1174,11 @@ public final class RedisUtils {
      * @return 执行 HINCRBY 命令之后，哈希表 key 中域 field 的值。
      */
     public Long hIncrBy(String key, String item,Long delta){
-        return redisTemplate.opsForHash().increment(key, item, delta);
+        try {
+            return redisTemplate.opsForHash().increment(key, item, delta);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -864,7 +1198,11 @@ public final class RedisUtils {
      * @return 执行加法操作之后 field 域的值。
      */
     public double hIncrBy(String key, String item,double delta){
-        return redisTemplate.opsForHash().increment(key, item, delta);
+        try {
+            return redisTemplate.opsForHash().increment(key, item, delta);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -876,7 +1214,7 @@ public final class RedisUtils {
      * @return 一个包含哈希表中所有域的表。当 key 不存在时，返回一个空表。
      */
     public Set<Object> hKeys(String key){
-        return redisTemplate.opsForHash().keys(key);
+        return read(ReadGroup.HASH, t -> t.opsForHash().keys(key));
     }
 
     /**
@@ -887,7 +1225,7 @@ public final class RedisUtils {
      * @return 哈希表中域的数量。当 key 不存在时，返回 0 。
      */
     public Long hLen(String key){
-        return redisTemplate.opsForHash().size(key);
+        return read(ReadGroup.HASH, t -> t.opsForHash().size(key));
     }
 
     /**
@@ -901,7 +1239,7 @@ public final class RedisUtils {
      * @return 一个包含多个给定域的关联值的表，表值的排列顺序和给定域参数的请求顺序一样。
      */
     public List<Object> hMGet(String key, Collection<Object> hashKeys){
-        return redisTemplate.opsForHash().multiGet(key,hashKeys);
+        return read(ReadGroup.HASH, t -> t.opsForHash().multiGet(key,hashKeys));
     }
 
     /**
@@ -919,6 +1257,8 @@ public final class RedisUtils {
             return true;
         } catch (Exception e) {
             return false;
+        } finally {
+            invalidate(key);
         }
     }
 
@@ -938,6 +1278,8 @@ public final class RedisUtils {
             return true;
         } catch (Exception e) {
             return false;
+        } finally {
+            invalidate(key);
         }
     }
 
@@ -953,7 +1295,11 @@ public final class RedisUtils {
      * @return true:成功，false:失败
      */
     public Boolean hSetNX(String key, String hashKey, String value){
-        return  redisTemplate.opsForHash().putIfAbsent(key, hashKey, value);
+        try {
+            return redisTemplate.opsForHash().putIfAbsent(key, hashKey, value);
+        } finally {
+            invalidate(key);
+        }
     }
 
     /**
@@ -965,10 +1311,37 @@ public final class RedisUtils {
      * @return 一个包含哈希表中所有值的表。当 key 不存在时，返回一个空表。
      */
     public List<Object> hVals(String key){
-        return  redisTemplate.opsForHash().values(key);
+        return read(ReadGroup.HASH, t -> t.opsForHash().values(key));
+    }
+
+    /**
+     * HSCAN key cursor [MATCH pattern] [COUNT count]
+     * 功能描述：增量地迭代哈希表 key 中的域值对，每次只向服务器取一页，并在遍历时逐个反序列化，
+     *           适合替代大哈希表上的 HGETALL 、 HKEYS 、 HVALS 。
+     *           提前结束遍历时调用 close() 即可，不会再发送后续的 HSCAN 。
+     * 可用版本：>= 2.8.0
+     * 时间复杂度：每次调用 O(1) ，完整迭代一次为 O(N) ， N 为哈希表的大小。
+     * 注意：Cursor 会占用一个连接，使用完毕必须调用 close() ，建议使用 try-with-resources 。
+     * @param key 键
+     * @param pattern 域的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 域值对的游标
+     */
+    public Cursor<Map.Entry<Object,Object>> hScan(String key, String pattern, long count){
+        return redisTemplate.opsForHash().scan(key, scanOptions(pattern, count));
     }
 
-    //HSCAN后期更新
+    /**
+     * HSCAN key cursor [MATCH pattern] [COUNT count]
+     * 功能描述：与 {@link #hScan(String, String, long)} 相同，以惰性 Stream 的形式返回，关闭 Stream 时关闭游标。
+     * @param key 键
+     * @param pattern 域的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 域值对的 Stream，使用完毕必须 close()
+     */
+    public Stream<Map.Entry<Object,Object>> hScanStream(String key, String pattern, long count){
+        return toStream(hScan(key, pattern, count));
+    }
 
     /**
      * HSTRLEN key field
@@ -980,7 +1353,7 @@ public final class RedisUtils {
      * @return 一个整数
      */
     public Long hStrLen(String key, Object hashKey) {
-        return  redisTemplate.opsForHash().lengthOfValue(key,hashKey);
+        return read(ReadGroup.HASH, t -> t.opsForHash().lengthOfValue(key,hashKey));
     }
 
     //============================RedisTemplate针对List操作=============================
@@ -1044,7 +1417,7 @@ public final class RedisUtils {
      * @return 列表中下标为 index 的元素。如果 index 参数的值不在列表的区间范围内(out of range)，返回 nil 。
      */
     public Object lIndex(String key, long index) {
-        return redisTemplate.opsForList().index(key, index);
+        return read(ReadGroup.LIST, t -> t.opsForList().index(key, index));
     }
 
     /**
@@ -1073,7 +1446,7 @@ public final class RedisUtils {
      * @return 列表 key 的长度。
      */
     public Long lLen(String key) {
-        return redisTemplate.opsForList().size(key);
+        return read(ReadGroup.LIST, t -> t.opsForList().size(key));
     }
 
     /**
@@ -1152,7 +1525,7 @@ public final class RedisUtils {
      * @return 一个列表，包含指定区间内的元素。
      */
     public List<Object> lRange(String key, long start, long end){
-        return redisTemplate.opsForList().range(key, start, end);
+        return read(ReadGroup.LIST, t -> t.opsForList().range(key, start, end));
     }
 
     /**
@@ -1328,7 +1701,7 @@ public final class RedisUtils {
      * @return 集合的基数。当 key 不存在时，返回 0 。
      */
     public Long sCard(String key){
-        return redisTemplate.opsForSet().size(key);
+        return read(ReadGroup.SET, t -> t.opsForSet().size(key));
     }
 
     /**
@@ -1342,7 +1715,7 @@ public final class RedisUtils {
      * 例如：SADD key1 "a" "b" "c" "d" ;  SADD key2 "c" ; SADD key3 "a" "c" "e"; SDIFF key1 key2 key3 ====>> "d","b"
      */
     public Set<Object> sDiff(String key, String otherKey){
-        return redisTemplate.opsForSet().difference(key,otherKey);
+        return read(ReadGroup.SET, t -> t.opsForSet().difference(key,otherKey));
     }
 
 
@@ -1356,7 +1729,7 @@ public final class RedisUtils {
      * @return 差集成员的列表。
      */
     public Set<Object> sDiff(String key, Collection<String> otherKey){
-        return redisTemplate.opsForSet().difference(key,otherKey);
+        return read(ReadGroup.SET, t -> t.opsForSet().difference(key,otherKey));
     }
 
     /**
@@ -1400,7 +1773,7 @@ public final class RedisUtils {
      * @return 交集成员的列表。
      */
     Set<Object> sInter(String key, String otherKey){
-        return redisTemplate.opsForSet().intersect(key,otherKey);
+        return read(ReadGroup.SET, t -> t.opsForSet().intersect(key,otherKey));
     }
 
     /**
@@ -1414,7 +1787,7 @@ public final class RedisUtils {
      * @return 交集成员的列表。
      */
     Set<Object> sInter(String key, Collection<String> otherKeys){
-        return redisTemplate.opsForSet().intersect(key,otherKeys);
+        return read(ReadGroup.SET, t -> t.opsForSet().intersect(key,otherKeys));
     }
 
     /**
@@ -1457,7 +1830,7 @@ public final class RedisUtils {
      * @return 如果 member 元素是集合的成员，返回 true 。如果 member 元素不是集合的成员，或 key 不存在，返回 false 。
      */
     Boolean sIsMember(String key, Object o){
-        return redisTemplate.opsForSet().isMember(key,o);
+        return read(ReadGroup.SET, t -> t.opsForSet().isMember(key,o));
     }
 
     /**
@@ -1465,11 +1838,12 @@ public final class RedisUtils {
      * 功能描述：返回集合 key 中的所有成员。不存在的 key 被视为空集合。
      * 可用版本：>= 1.0.0
      * 时间复杂度:O(N)， N 为集合的基数。
+     * 注意：大集合请使用 {@link #sScan(String, String, long)} 分页迭代。
      * @param key
      * @return 集合中的所有成员。
      */
     Set<Object> sMembers(String key){
-        return redisTemplate.opsForSet().members(key);
+        return read(ReadGroup.SET, t -> t.opsForSet().members(key));
     }
 
     /**
@@ -1523,7 +1897,7 @@ public final class RedisUtils {
      * @return 只提供 key 参数时，返回一个元素；如果集合为空，返回 nil 。如果提供了 count 参数，那么返回一个数组；如果集合为空，返回空数组。
      */
     Object randomMember(String key){
-        return redisTemplate.opsForSet().randomMember(key);
+        return read(ReadGroup.SET, t -> t.opsForSet().randomMember(key));
     }
 
     /**
@@ -1540,7 +1914,7 @@ public final class RedisUtils {
      * @return 只提供 key 参数时，返回一个元素；如果集合为空，返回 nil 。如果提供了 count 参数，那么返回一个数组；如果集合为空，返回空数组。
      */
     Set<Object> distinctRandomMembers(String key, long count){
-        return redisTemplate.opsForSet().distinctRandomMembers(key,count);
+        return read(ReadGroup.SET, t -> t.opsForSet().distinctRandomMembers(key,count));
     }
 
     /**
@@ -1557,7 +1931,7 @@ public final class RedisUtils {
      * @return 只提供 key 参数时，返回一个元素；如果集合为空，返回 nil 。如果提供了 count 参数，那么返回一个数组；如果集合为空，返回空数组。
      */
     List<Object> randomMembers(String key, long count){
-        return redisTemplate.opsForSet().randomMembers(key,count);
+        return read(ReadGroup.SET, t -> t.opsForSet().randomMembers(key,count));
     }
 
     /**
@@ -1584,7 +1958,7 @@ public final class RedisUtils {
      * @return 并集成员的列表。
      */
     Set<Object> sUnion(String key, String otherKey){
-        return redisTemplate.opsForSet().union(key, otherKey);
+        return read(ReadGroup.SET, t -> t.opsForSet().union(key, otherKey));
     }
 
     /**
@@ -1597,7 +1971,7 @@ public final class RedisUtils {
      * @return 并集成员的列表。
      */
     Set<Object> sUnion(String key, Collection<String> otherKeys){
-        return redisTemplate.opsForSet().union(key, otherKeys);
+        return read(ReadGroup.SET, t -> t.opsForSet().union(key, otherKeys));
     }
 
     /**
@@ -1630,8 +2004,33 @@ public final class RedisUtils {
         return redisTemplate.opsForSet().unionAndStore(key, otherKeys,destKey);
     }
 
-    //SSCAN
+    /**
+     * SSCAN key cursor [MATCH pattern] [COUNT count]
+     * 功能描述：增量地迭代集合 key 中的元素，每次只向服务器取一页，并在遍历时逐个反序列化，适合替代大集合上的 SMEMBERS 。
+     *           迭代期间被修改的元素可能被返回多次。
+     * 可用版本：>= 2.8.0
+     * 时间复杂度：每次调用 O(1) ，完整迭代一次为 O(N) ， N 为集合的基数。
+     * 注意：Cursor 会占用一个连接，使用完毕必须调用 close() ，建议使用 try-with-resources 。
+     * @param key 键
+     * @param pattern 元素的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 集合元素的游标
+     */
+    public Cursor<Object> sScan(String key, String pattern, long count){
+        return redisTemplate.opsForSet().scan(key, scanOptions(pattern, count));
+    }
 
+    /**
+     * SSCAN key cursor [MATCH pattern] [COUNT count]
+     * 功能描述：与 {@link #sScan(String, String, long)} 相同，以惰性 Stream 的形式返回，关闭 Stream 时关闭游标。
+     * @param key 键
+     * @param pattern 元素的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 集合元素的 Stream，使用完毕必须 close()
+     */
+    public Stream<Object> sScanStream(String key, String pattern, long count){
+        return toStream(sScan(key, pattern, count));
+    }
 
     //============================RedisTemplate针对SortedSet操作=============================
 
@@ -1679,7 +2078,7 @@ public final class RedisUtils {
      * @return 当 key 存在且是有序集类型时，返回有序集的基数。当 key 不存在时，返回 0 。
      */
     Long zCard(String key){
-        return redisTemplate.opsForZSet().zCard(key);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().zCard(key));
     }
 
     /**
@@ -1693,7 +2092,7 @@ public final class RedisUtils {
      * @return score 值在 min 和 max 之间的成员的数量。
      */
     Long zCount(String key, double min, double max){
-        return redisTemplate.opsForZSet().count(key,min,max);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().count(key,min,max));
     }
 
     /**
@@ -1731,7 +2130,7 @@ public final class RedisUtils {
      * @return 指定区间内，未带有 score 值的有序集成员的列表。
      */
     Set<Object> range(String key, long start, long end){
-        return redisTemplate.opsForZSet().range(key,start,end);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().range(key,start,end));
     }
 
     /**
@@ -1752,7 +2151,7 @@ public final class RedisUtils {
      * @return 指定区间内，带有 score 值的有序集成员的列表。
      */
     Set<ZSetOperations.TypedTuple<Object>> rangeWithScores(String key, long start, long end){
-        return redisTemplate.opsForZSet().rangeWithScores(key,start,end);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().rangeWithScores(key,start,end));
     }
 
     /**
@@ -1773,7 +2172,7 @@ public final class RedisUtils {
      * @return 指定区间内，未带有 score 值的有序集成员的列表。
      */
     Set<Object> rangeByScore(String key, double min, double max){
-        return redisTemplate.opsForZSet().rangeByScore(key,min,max);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().rangeByScore(key,min,max));
     }
 
     /**
@@ -1794,7 +2193,7 @@ public final class RedisUtils {
      * @return 指定区间内，带有 score 值的有序集成员的列表。
      */
     Set<ZSetOperations.TypedTuple<Object>> rangeByScoreWithScores(String key, double min, double max){
-        return redisTemplate.opsForZSet().rangeByScoreWithScores(key,min,max);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().rangeByScoreWithScores(key,min,max));
     }
 
     /**
@@ -1808,7 +2207,7 @@ public final class RedisUtils {
      * @return 如果 member 是有序集 key 的成员，返回 member 的排名。如果 member 不是有序集 key 的成员，返回 nil 。
      */
     Long rank(String key, Object o){
-        return redisTemplate.opsForZSet().rank(key,o);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().rank(key,o));
     }
 
     /**
@@ -1868,7 +2267,7 @@ public final class RedisUtils {
      * @return 指定区间内，带有 score 值(可选)的有序集成员的列表。
      */
     Set<Object> reverseRange(String key, long start, long end){
-        return redisTemplate.opsForZSet().reverseRange(key,start,end);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().reverseRange(key,start,end));
     }
 
     /**
@@ -1884,7 +2283,7 @@ public final class RedisUtils {
      * @return 指定区间内，带有 score 值(可选)的有序集成员的列表。
      */
     Set<ZSetOperations.TypedTuple<Object>> reverseRangeWithScores(String key, long start, long end){
-        return redisTemplate.opsForZSet().reverseRangeWithScores(key,start,end);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().reverseRangeWithScores(key,start,end));
     }
 
     /**
@@ -1900,7 +2299,7 @@ public final class RedisUtils {
      * @return 指定区间内，带有 score 值(可选)的有序集成员的列表。
      */
     Set<Object> reverseRangeByScore(String key, double min, double max){
-        return redisTemplate.opsForZSet().reverseRangeByScore(key,min,max);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().reverseRangeByScore(key,min,max));
     }
 
     /**
@@ -1916,7 +2315,7 @@ public final class RedisUtils {
      * @return 指定区间内，带有 score 值(可选)的有序集成员的列表。
      */
     Set<ZSetOperations.TypedTuple<Object>> reverseRangeByScoreWithScores(String key, double min, double max){
-        return redisTemplate.opsForZSet().reverseRangeByScoreWithScores(key,min,max);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().reverseRangeByScoreWithScores(key,min,max));
     }
 
     /**
@@ -1934,7 +2333,7 @@ public final class RedisUtils {
      * @return 指定区间内，带有 score 值(可选)的有序集成员的列表。
      */
     Set<Object> reverseRangeByScore(String key, double min, double max, long offset, long count){
-        return redisTemplate.opsForZSet().reverseRangeByScore(key,min,max,offset,count);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().reverseRangeByScore(key,min,max,offset,count));
     }
 
     /**
@@ -1952,7 +2351,7 @@ public final class RedisUtils {
      * @return 指定区间内，带有 score 值(可选)的有序集成员的列表。
      */
     Set<ZSetOperations.TypedTuple<Object>> reverseRangeByScoreWithScores(String key, double min, double max, long offset, long count){
-        return redisTemplate.opsForZSet().reverseRangeByScoreWithScores(key,min,max,offset,count);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().reverseRangeByScoreWithScores(key,min,max,offset,count));
     }
 
     /**
@@ -1966,7 +2365,7 @@ public final class RedisUtils {
      * @return 如果 member 是有序集 key 的成员，返回 member 的排名。如果 member 不是有序集 key 的成员，返回 nil 。
      */
     Long reverseRank(String key, Object o){
-        return redisTemplate.opsForZSet().reverseRank(key,o);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().reverseRank(key,o));
     }
 
     /**
@@ -1979,7 +2378,7 @@ public final class RedisUtils {
      * @return member 成员的 score 值
      */
     Double score(String key, Object o){
-        return redisTemplate.opsForZSet().score(key,o);
+        return read(ReadGroup.ZSET, t -> t.opsForZSet().score(key,o));
     }
 
     /**
@@ -2144,6 +2543,147 @@ public final class RedisUtils {
         return redisTemplate.opsForZSet().intersectAndStore(key,otherKeys,destKey,aggregate,weights);
     }
 
-    //ZSCAN
+    /**
+     * ZSCAN key cursor [MATCH pattern] [COUNT count]
+     * 功能描述：增量地迭代有序集 key 中的成员和 score ，每次只向服务器取一页，并在遍历时逐个反序列化，
+     *           适合替代大有序集上的 ZRANGE key 0 -1 。注意迭代顺序不保证按 score 排序。
+     * 可用版本：>= 2.8.0
+     * 时间复杂度：每次调用 O(1) ，完整迭代一次为 O(N) ， N 为有序集的基数。
+     * 注意：Cursor 会占用一个连接，使用完毕必须调用 close() ，建议使用 try-with-resources 。
+     * @param key 键
+     * @param pattern 成员的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 带 score 的成员游标
+     */
+    public Cursor<ZSetOperations.TypedTuple<Object>> zScan(String key, String pattern, long count){
+        return redisTemplate.opsForZSet().scan(key, scanOptions(pattern, count));
+    }
+
+    /**
+     * ZSCAN key cursor [MATCH pattern] [COUNT count]
+     * 功能描述：与 {@link #zScan(String, String, long)} 相同，以惰性 Stream 的形式返回，关闭 Stream 时关闭游标。
+     * @param key 键
+     * @param pattern 成员的匹配模式，null 表示不过滤
+     * @param count 每次迭代返回元素数量的提示值
+     * @return 带 score 的成员 Stream，使用完毕必须 close()
+     */
+    public Stream<ZSetOperations.TypedTuple<Object>> zScanStream(String key, String pattern, long count){
+        return toStream(zScan(key, pattern, count));
+    }
+
+    private void invalidate(String... keys) {
+        if (nearCache != null) {
+            for (String key : keys) {
+                nearCache.invalidate(key);
+            }
+        }
+    }
+
+    private void invalidate(Collection<String> keys) {
+        if (nearCache != null) {
+            keys.forEach(nearCache::invalidate);
+        }
+    }
+
+    private <T> T read(ReadGroup group, Function<RedisTemplate<String, Object>, T> read) {
+        return replicaReadRouter == null ? read.apply(redisTemplate) : replicaReadRouter.read(group, read);
+    }
+
+    private boolean isUnlinkOnDelete() {
+        return properties != null && properties.getDelete().isUnlink();
+    }
+
+    private RedisSdkProperties.Delete deleteOptions() {
+        return properties != null ? properties.getDelete() : new RedisSdkProperties.Delete();
+    }
+
+    private long unlinkBatch(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        try {
+            Long unlinked = redisTemplate.unlink(keys);
+            return unlinked == null ? 0 : unlinked;
+        } finally {
+            invalidate(keys);
+            keys.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    /**
+     * 逐批删除游标迭代到的元素
+     * @return 删除的元素数量，线程被中断时提前返回
+     */
+    private static <E> long drain(Cursor<E> cursor, Function<E, byte[]> member, Function<byte[][], Long> remover, int batchSize, long pauseMillis) {
+        long count = 0;
+        List<byte[]> batch = new ArrayList<>(batchSize);
+        try {
+            while (cursor.hasNext()) {
+                batch.add(member.apply(cursor.next()));
+                if (batch.size() == batchSize) {
+                    Long removed = remover.apply(batch.toArray(new byte[0][]));
+                    count += removed == null ? 0 : removed;
+                    batch.clear();
+                    if (!pause(pauseMillis)) {
+                        return count;
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                Long removed = remover.apply(batch.toArray(new byte[0][]));
+                count += removed == null ? 0 : removed;
+            }
+            return count;
+        } finally {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @return false:线程被中断，调用方应停止
+     */
+    private static boolean pause(long millis) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static ScanOptions scanOptions(String pattern, long count) {
+        ScanOptions.ScanOptionsBuilder builder = ScanOptions.scanOptions().count(count);
+        if (pattern != null) {
+            builder.match(pattern);
+        }
+        return builder.build();
+    }
+
+    private static <T> Stream<T> toStream(Cursor<T> cursor) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        cursor.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
 
 }
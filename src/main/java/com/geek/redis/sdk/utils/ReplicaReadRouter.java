@@ -0,0 +1,238 @@
+package com.geek.redis.sdk.utils;
+
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 从节点读路由
+ * 按操作分组(或调用方用 {@link #withPreference} 指定)把 RedisUtils 的只读命令发到从节点，连接使用 Lettuce 的 ReadFrom(默认 slavePreferred)，
+ * 哨兵和静态主从拓扑都支持。
+ * 回退到主节点：
+ *      1、定期在主节点执行 INFO replication ，没有在线的从节点或任一从节点的 lag 超过 maxLag 时，所有读取回到主节点，恢复后自动切回；
+ *      2、从节点连接失败或超时的读取立即在主节点重试，并在 failureCooldown 内不再读从节点。
+ * 注意：从节点的数据是异步复制的，刚写入的值可能读不到；默认只有 BIT、ZSET 分组读从节点，需要读己之写的调用请用 MASTER 偏好包起来。
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 00:20
+ * @version: 1.0
+ */
+@Slf4j
+public class ReplicaReadRouter implements InitializingBean, DisposableBean {
+
+    private static final ThreadLocal<ReadPreference> PREFERENCE = new ThreadLocal<>();
+
+    private final RedisTemplate<String, Object> masterTemplate;
+
+    private final LettuceConnectionFactory replicaConnectionFactory;
+
+    private final RedisSdkProperties.ReplicaRead options;
+
+    private final Set<ReadGroup> groups;
+
+    private final RedisTemplate<String, Object> replicaTemplate = new RedisTemplate<>();
+
+    private volatile boolean replicasInSync = true;
+
+    private volatile long suspendedUntil;
+
+    private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "redis-replica-lag-checker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param masterTemplate 主节点模板，也提供序列化器
+     * @param replicaConnectionFactory 配置了 ReadFrom 的连接工厂，由本类负责初始化和销毁
+     * @param options 路由参数
+     */
+    public ReplicaReadRouter(RedisTemplate<String, Object> masterTemplate, LettuceConnectionFactory replicaConnectionFactory, RedisSdkProperties.ReplicaRead options) {
+        this.masterTemplate = masterTemplate;
+        this.replicaConnectionFactory = replicaConnectionFactory;
+        this.options = options;
+        this.groups = options.getGroups();
+        this.suspendedUntil = System.nanoTime();
+    }
+
+    /**
+     * 在当前线程上按指定偏好执行读取，覆盖分组配置
+     * @param preference 读偏好
+     * @param action 读取
+     * @return action 的结果
+     */
+    public static <T> T withPreference(ReadPreference preference, Supplier<T> action) {
+        ReadPreference previous = PREFERENCE.get();
+        PREFERENCE.set(preference);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PREFERENCE.remove();
+            } else {
+                PREFERENCE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 执行一次读取
+     * @param group 操作分组
+     * @param read 读取，参数为主节点或从节点的模板
+     * @return 读取结果
+     */
+    public <T> T read(ReadGroup group, Function<RedisTemplate<String, Object>, T> read) {
+        ReadPreference preference = PREFERENCE.get();
+        boolean replica = preference != null ? preference == ReadPreference.REPLICA : groups.contains(group);
+        if (!replica || !isReplicaAvailable()) {
+            return read.apply(masterTemplate);
+        }
+        try {
+            return read.apply(replicaTemplate);
+        } catch (RedisConnectionFailureException | QueryTimeoutException e) {
+            suspendedUntil = System.nanoTime() + options.getFailureCooldown().toNanos();
+            log.warn("read from redis replica failed, fall back to master for {}", options.getFailureCooldown(), e);
+            return read.apply(masterTemplate);
+        }
+    }
+
+    /**
+     * @return 当前是否允许读从节点
+     */
+    public boolean isReplicaAvailable() {
+        return replicasInSync && System.nanoTime() - suspendedUntil >= 0;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        replicaConnectionFactory.afterPropertiesSet();
+        replicaTemplate.setConnectionFactory(replicaConnectionFactory);
+        replicaTemplate.setKeySerializer(masterTemplate.getKeySerializer());
+        replicaTemplate.setValueSerializer(masterTemplate.getValueSerializer());
+        replicaTemplate.setHashKeySerializer(masterTemplate.getHashKeySerializer());
+        replicaTemplate.setHashValueSerializer(masterTemplate.getHashValueSerializer());
+        replicaTemplate.afterPropertiesSet();
+        long period = options.getLagCheckInterval().toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        lagChecker.shutdownNow();
+        replicaConnectionFactory.destroy();
+    }
+
+    void checkLag() {
+        boolean inSync;
+        try {
+            Properties info = masterTemplate.execute((RedisCallback<Properties>) connection -> connection.info("replication"));
+            inSync = info != null && isInSync(info, options.getMaxLag().getSeconds());
+        } catch (Exception e) {
+            // 主节点都不可用时读从节点也无意义，保持原状态
+            log.warn("check redis replication lag failed", e);
+            return;
+        }
+        if (inSync != replicasInSync) {
+            log.warn(inSync ? "redis replicas caught up, reads routed to replicas again" : "redis replicas lagging or offline, reads routed to master");
+            replicasInSync = inSync;
+        }
+    }
+
+    /**
+     * @param info INFO replication 的结果
+     * @param maxLagSeconds 允许的最大 lag
+     * @return 至少一个从节点在线，且所有在线从节点的 lag 都不超过 maxLagSeconds
+     */
+    static boolean isInSync(Properties info, long maxLagSeconds) {
+        int online = 0;
+        for (String name : info.stringPropertyNames()) {
+            if (!name.matches("slave\\d+")) {
+                continue;
+            }
+            String state = null;
+            long lag = Long.MAX_VALUE;
+            for (String field : info.getProperty(name).split(",")) {
+                int eq = field.indexOf('=');
+                if (eq < 0) {
+                    continue;
+                }
+                String key = field.substring(0, eq);
+                if ("state".equals(key)) {
+                    state = field.substring(eq + 1);
+                } else if ("lag".equals(key)) {
+                    lag = Long.parseLong(field.substring(eq + 1));
+                }
+            }
+            if (!"online".equals(state)) {
+                continue;
+            }
+            if (lag > maxLagSeconds) {
+                return false;
+            }
+            online++;
+        }
+        return online > 0;
+    }
+
+    /**
+     * 读偏好
+     */
+    public enum ReadPreference {
+        /**
+         * 读主节点
+         */
+        MASTER,
+        /**
+         * 按 ReadFrom 读从节点，不可用时回退到主节点
+         */
+        REPLICA
+    }
+
+    /**
+     * RedisUtils 只读命令的分组
+     */
+    public enum ReadGroup {
+        /**
+         * EXISTS / TYPE / TTL / PTTL / RANDOMKEY
+         */
+        KEY,
+        /**
+         * GET / GETRANGE / MGET / STRLEN
+         */
+        STRING,
+        /**
+         * GETBIT / BITCOUNT
+         */
+        BIT,
+        /**
+         * HGET / HGETALL / HKEYS / HVALS / HLEN / HMGET / HEXISTS / HSTRLEN
+         */
+        HASH,
+        /**
+         * LINDEX / LLEN / LRANGE
+         */
+        LIST,
+        /**
+         * SMEMBERS / SCARD / SISMEMBER / SRANDMEMBER / SINTER / SUNION / SDIFF
+         */
+        SET,
+        /**
+         * ZRANGE / ZREVRANGE / ZRANGEBYSCORE / ZCARD / ZCOUNT / ZRANK / ZSCORE 等
+         */
+        ZSET
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.geek.redis.sdk.utils;
+
+import com.geek.redis.sdk.config.TypedJsonRedisSerializer;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按 key 前缀绑定具体类型的 RedisTemplate
+ * 每个类型一个 RedisTemplate ，value 使用 {@link TypedJsonRedisSerializer}，不写类名，读取时不按类名查找类；
+ * 绑定类型的子类按类型 id 注册表写入一个字节的类型 id 。
+ * 前缀在启动时由 redis.sdk.typed.prefixes 注册，也可以调用 {@link #register}，应在使用前完成注册；按最长前缀匹配。
+ * 模板经过容器中的 BeanPostProcessor ，与其他 RedisTemplate 一样带有压缩、指标和大 key 检测。
+ * key 和哈希域使用构造时传入的序列化器，容器中取自 redisMessageTemplate ，与 RedisUtils 写入的 key 格式一致；
+ * 注意：redisTemplate 这个 bean 的 key 是普通字符串，与 RedisUtils 的 key(JSON 字符串，带引号)不是同一个 key 。
+ * 例：typedRedisTemplates.&lt;UserMessage&gt;forKey("user:42").opsForValue().get("user:42")
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 02:20
+ * @version: 1.0
+ */
+public class TypedRedisTemplates {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private final RedisSerializer<?> keySerializer;
+
+    private final RedisSerializer<?> hashKeySerializer;
+
+    private final Map<Integer, Class<?>> typeIds;
+
+    private final AutowireCapableBeanFactory beanFactory;
+
+    private final Map<Class<?>, RedisTemplate<String, ?>> byType = new ConcurrentHashMap<>();
+
+    private final Map<String, Class<?>> prefixes = new LinkedHashMap<>();
+
+    private volatile List<String> sortedPrefixes = new ArrayList<>();
+
+    /**
+     * @param connectionFactory 连接工厂
+     * @param keySerializer key 序列化器，应与写入数据的模板一致
+     * @param hashKeySerializer 哈希域序列化器，应与写入数据的模板一致
+     * @param typeIds 类型 id 注册表，绑定类型的子类按这里的 id 写入
+     * @param beanFactory 用于初始化模板，为 null 时只调用 afterPropertiesSet
+     */
+    public TypedRedisTemplates(RedisConnectionFactory connectionFactory, RedisSerializer<?> keySerializer, RedisSerializer<?> hashKeySerializer,
+                               Map<Integer, Class<?>> typeIds, AutowireCapableBeanFactory beanFactory) {
+        this.connectionFactory = connectionFactory;
+        this.keySerializer = keySerializer;
+        this.hashKeySerializer = hashKeySerializer;
+        this.typeIds = typeIds;
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * 把 key 前缀绑定到类型
+     * @param prefix key 前缀，如 user:
+     * @param type 类型
+     * @return 该类型的模板
+     */
+    public synchronized <T> RedisTemplate<String, T> register(String prefix, Class<T> type) {
+        Class<?> existing = prefixes.get(prefix);
+        if (existing != null && existing != type) {
+            throw new IllegalStateException("key prefix " + prefix + " already bound to " + existing.getName());
+        }
+        prefixes.put(prefix, type);
+        List<String> sorted = new ArrayList<>(prefixes.keySet());
+        sorted.sort(Comparator.comparingInt(String::length).reversed());
+        sortedPrefixes = sorted;
+        return forType(type);
+    }
+
+    /**
+     * @param key 键
+     * @return 最长匹配前缀绑定类型的模板
+     * @throws IllegalArgumentException 没有匹配的前缀
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisTemplate<String, T> forKey(String key) {
+        for (String prefix : sortedPrefixes) {
+            if (key.startsWith(prefix)) {
+                return (RedisTemplate<String, T>) forType(prefixes.get(prefix));
+            }
+        }
+        throw new IllegalArgumentException("no typed template bound to key " + key);
+    }
+
+    /**
+     * @param type 类型
+     * @return 该类型的模板，不存在时创建
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisTemplate<String, T> forType(Class<T> type) {
+        return (RedisTemplate<String, T>) byType.computeIfAbsent(type, this::createTemplate);
+    }
+
+    /**
+     * @return 已注册的前缀和类型
+     */
+    public synchronized Map<String, Class<?>> getPrefixes() {
+        return new LinkedHashMap<>(prefixes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RedisTemplate<String, T> createTemplate(Class<T> type) {
+        TypedJsonRedisSerializer<T> serializer = new TypedJsonRedisSerializer<>(type);
+        typeIds.forEach((id, subtype) -> {
+            if (subtype != type && type.isAssignableFrom(subtype)) {
+                serializer.register(id, (Class<? extends T>) subtype);
+            }
+        });
+        RedisTemplate<String, T> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(keySerializer);
+        template.setHashKeySerializer(hashKeySerializer);
+        template.setValueSerializer(serializer);
+        template.setHashValueSerializer(serializer);
+        if (beanFactory == null) {
+            template.afterPropertiesSet();
+            return template;
+        }
+        return (RedisTemplate<String, T>) beanFactory.initializeBean(template, "typedRedisTemplate#" + type.getName());
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.geek.redis.sdk.config;
+
+import com.geek.redis.sdk.bean.GoodsMessage;
+import com.geek.redis.sdk.bean.UserMessage;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 11:20
+ * @version: 1.0
+ */
+public class BinaryRedisSerializerTest {
+
+    private final BinaryRedisSerializer<Object> serializer = RedisMessageCodecs.registerAll(new BinaryRedisSerializer<>(Object.class));
+
+    @Test
+    public void testRegisteredTypeRoundTrip() {
+        UserMessage message = new UserMessage();
+        message.setMsgId("m-1");
+        message.setCreateStamp(1550000000000L);
+        message.setUserId("10001");
+        message.setUsername("极客😀");
+        byte[] bytes = serializer.serialize(message);
+        assertEquals(BinaryRedisSerializer.MAGIC, bytes[0]);
+        UserMessage result = (UserMessage) serializer.deserialize(bytes);
+        assertEquals(message, result);
+        assertEquals("m-1", result.getMsgId());
+        assertEquals(1550000000000L, result.getCreateStamp());
+        assertNull(result.getPassword());
+    }
+
+    @Test
+    public void testGoodsMessageRoundTrip() {
+        GoodsMessage message = new GoodsMessage();
+        message.setGoodsType("book");
+        message.setNumber("3");
+        assertEquals(message, serializer.deserialize(serializer.serialize(message)));
+    }
+
+    @Test
+    public void testFastJsonDataStaysReadable() {
+        byte[] legacy = new FastJsonRedisSerializer<>(Object.class).serialize("plain");
+        assertEquals("plain", serializer.deserialize(legacy));
+        assertArrayEquals(legacy, serializer.serialize("plain"));
+        assertEquals(12L, ((Number) serializer.deserialize(serializer.serialize(12L))).longValue());
+    }
+
+}
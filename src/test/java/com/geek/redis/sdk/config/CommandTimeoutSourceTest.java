@@ -0,0 +1,29 @@
+package com.geek.redis.sdk.config;
+
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 01:20
+ * @version: 1.0
+ */
+public class CommandTimeoutSourceTest {
+
+    @Test
+    public void testTimeoutByCommandType() {
+        CommandTimeoutSource source = new CommandTimeoutSource(Collections.singletonMap("hgetall", Duration.ofMillis(200)), Duration.ofSeconds(5));
+
+        assertEquals(200, source.getTimeout(new Command<>(CommandType.HGETALL, null)));
+        assertEquals(5000, source.getTimeout(new Command<>(CommandType.GET, null)));
+        // 阻塞命令未单独配置时不设超时
+        assertEquals(0, source.getTimeout(new Command<>(CommandType.BLPOP, null)));
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.geek.redis.sdk.config;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 01:50
+ * @version: 1.0
+ */
+public class CompressingRedisSerializerTest {
+
+    private final FastJsonRedisSerializer<Object> fastJson = new FastJsonRedisSerializer<>(Object.class);
+
+    private final CompressingRedisSerializer<Object> serializer = new CompressingRedisSerializer<>(fastJson, 1024);
+
+    @Test
+    public void testLargeValueIsCompressed() {
+        Map<String, Object> value = new HashMap<>();
+        value.put("content", String.join("", Collections.nCopies(2000, "redis-sdk ")));
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertEquals(CompressingRedisSerializer.MAGIC, bytes[0]);
+        assertTrue(bytes.length < fastJson.serialize(value).length / 10);
+        assertEquals(value, serializer.deserialize(bytes));
+    }
+
+    @Test
+    public void testSmallAndLegacyValuesAreUntouched() {
+        Map<String, Object> value = new HashMap<>();
+        value.put("name", "geek");
+        byte[] legacy = fastJson.serialize(value);
+
+        assertArrayEquals(legacy, serializer.serialize(value));
+        assertEquals(value, serializer.deserialize(legacy));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.geek.redis.sdk.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 22:40
+ * @version: 1.0
+ */
+public class InstrumentedRedisConnectionFactoryTest {
+
+    @Test
+    public void testCommandsAreTimedByNameAndException() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.get("k".getBytes())).thenReturn("v".getBytes());
+        when(connection.incr("k".getBytes())).thenThrow(new IllegalStateException("not an integer"));
+        RedisConnectionFactory delegate = mock(RedisConnectionFactory.class);
+        when(delegate.getConnection()).thenReturn(connection);
+
+        RedisConnection instrumented = new InstrumentedRedisConnectionFactory(delegate, registry, new RedisSdkProperties.Metrics()).getConnection();
+        instrumented.get("k".getBytes());
+        instrumented.get("k".getBytes());
+        try {
+            instrumented.incr("k".getBytes());
+            fail();
+        } catch (IllegalStateException expected) {
+            // 原样抛出，不包装成 UndeclaredThrowableException
+        }
+        instrumented.isClosed();
+
+        assertEquals(2, registry.get(InstrumentedRedisConnectionFactory.COMMAND_METRIC).tags("command", "get", "exception", "none").timer().count());
+        assertEquals(1, registry.get(InstrumentedRedisConnectionFactory.COMMAND_METRIC).tags("command", "incr", "exception", "IllegalStateException").timer().count());
+        assertNull(registry.find(InstrumentedRedisConnectionFactory.COMMAND_METRIC).tags("command", "isClosed").timer());
+    }
+
+    @Test
+    public void testSerializerRecordsPayloadSize() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InstrumentedRedisSerializer<String> serializer = new InstrumentedRedisSerializer<>(new StringRedisSerializer(), registry);
+        serializer.deserialize(serializer.serialize("hello"));
+
+        assertEquals(1, registry.get("redis.serializer").tags("op", "serialize").timer().count());
+        assertEquals(5, registry.get("redis.payload.size").tags("op", "deserialize").summary().totalAmount(), 0);
+    }
+
+}
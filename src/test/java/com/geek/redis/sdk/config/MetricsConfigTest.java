@@ -0,0 +1,62 @@
+package com.geek.redis.sdk.config;
+
+import com.geek.redis.sdk.service.BatchPublisher;
+import com.geek.redis.sdk.service.Publisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 14:10
+ * @version: 1.0
+ */
+public class MetricsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class))
+            .withUserConfiguration(PubSubConfig.class, MetricsConfig.class);
+
+    @Test
+    public void testContextStartsWhenPublisherDependsOnInstrumentedTemplate() {
+        contextRunner.run(context -> {
+            // Publisher 创建时初始化 redisMessageTemplate ，后置处理器随之创建 MeterRegistry ，不能再反过来获取 Publisher
+            assertNull(context.getStartupFailure());
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertNotNull(registry.find("redis.pubsub.published").functionCounter());
+            assertTrue(context.getBean("redisMessageTemplate", RedisTemplate.class).getConnectionFactory() instanceof InstrumentedRedisConnectionFactory);
+        });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RedisSdkProperties.class)
+    static class PubSubConfig {
+
+        @Bean
+        public Publisher publisher(RedisTemplate<String, Object> redisMessageTemplate, ObjectProvider<BatchPublisher> batchPublisher) {
+            return new Publisher(redisMessageTemplate, batchPublisher);
+        }
+
+        @Bean
+        public RedisTemplate<String, Object> redisMessageTemplate() {
+            RedisTemplate<String, Object> template = new RedisTemplate<>();
+            template.setConnectionFactory(mock(RedisConnectionFactory.class));
+            return template;
+        }
+    }
+
+}
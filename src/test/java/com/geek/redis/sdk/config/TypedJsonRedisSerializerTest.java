@@ -0,0 +1,63 @@
+package com.geek.redis.sdk.config;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.geek.redis.sdk.bean.GoodsMessage;
+import com.geek.redis.sdk.bean.RedisMessage;
+import com.geek.redis.sdk.bean.UserMessage;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 02:30
+ * @version: 1.0
+ */
+public class TypedJsonRedisSerializerTest {
+
+    @Test
+    public void testExactTypeWithoutClassName() {
+        TypedJsonRedisSerializer<UserMessage> serializer = new TypedJsonRedisSerializer<>(UserMessage.class);
+        UserMessage message = userMessage();
+
+        byte[] bytes = serializer.serialize(message);
+
+        assertFalse(new String(bytes, StandardCharsets.UTF_8).contains("@type"));
+        assertEquals(message, serializer.deserialize(bytes));
+        // 旧数据带 @type 仍然可以读取
+        assertEquals(message, serializer.deserialize(JSON.toJSONBytes(message, SerializerFeature.WriteClassName)));
+    }
+
+    @Test
+    public void testPolymorphicTypeId() {
+        TypedJsonRedisSerializer<RedisMessage> serializer = new TypedJsonRedisSerializer<>(RedisMessage.class)
+                .register(RedisMessageCodecs.USER_MESSAGE, UserMessage.class);
+        UserMessage message = userMessage();
+
+        byte[] bytes = serializer.serialize(message);
+
+        assertEquals(TypedJsonRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(RedisMessageCodecs.USER_MESSAGE, bytes[1]);
+        assertEquals(message, serializer.deserialize(bytes));
+
+        // 未注册的子类回退到 WriteClassName
+        GoodsMessage goods = new GoodsMessage();
+        goods.setGoodsType("book");
+        assertTrue(new String(serializer.serialize(goods), StandardCharsets.UTF_8).contains("@type"));
+    }
+
+    private static UserMessage userMessage() {
+        UserMessage message = new UserMessage();
+        message.setMsgId("m-1");
+        message.setCreateStamp(1760000000000L);
+        message.setUserId("42");
+        message.setUsername("geek");
+        return message;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.geek.redis.sdk.service;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 15:30
+ * @version: 1.0
+ */
+public class MessageDispatcherTest {
+
+    @Test
+    public void testSameKeyKeepsOrder() throws Exception {
+        MessageDispatcher dispatcher = new MessageDispatcher(4, 100, MessageDispatcher.RejectPolicy.BLOCK);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1000);
+        for (int i = 0; i < 1000; i++) {
+            int seq = i;
+            dispatcher.dispatch("user", () -> {
+                received.add(seq);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) received.get(i));
+        }
+        assertEquals(0, dispatcher.getRejectedCount());
+        dispatcher.destroy();
+    }
+
+    @Test
+    public void testDiscardWhenQueueIsFull() throws Exception {
+        MessageDispatcher dispatcher = new MessageDispatcher(1, 1, MessageDispatcher.RejectPolicy.DISCARD);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch("user", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch("user", () -> { });
+        }
+        assertTrue(dispatcher.getQueueDepth() <= 1);
+        assertTrue(dispatcher.getRejectedCount() >= 9);
+        release.countDown();
+        dispatcher.destroy();
+    }
+
+}
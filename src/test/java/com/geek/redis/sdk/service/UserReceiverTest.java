@@ -0,0 +1,45 @@
+package com.geek.redis.sdk.service;
+
+import com.geek.redis.sdk.bean.UserMessage;
+import com.geek.redis.sdk.config.BinaryRedisSerializer;
+import com.geek.redis.sdk.config.FastJsonRedisSerializer;
+import com.geek.redis.sdk.config.RedisMessageCodecs;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 16:05
+ * @version: 1.0
+ */
+public class UserReceiverTest {
+
+    @Test
+    public void testDecodeFastJson() {
+        UserReceiver receiver = new UserReceiver();
+        receiver.setSerializer(new FastJsonRedisSerializer<>(Object.class));
+        UserMessage message = userMessage();
+        assertEquals(message, receiver.decode(new FastJsonRedisSerializer<>(Object.class).serialize(message)));
+    }
+
+    @Test
+    public void testDecodeBinary() {
+        BinaryRedisSerializer<Object> serializer = RedisMessageCodecs.registerAll(new BinaryRedisSerializer<>(Object.class));
+        UserReceiver receiver = new UserReceiver();
+        receiver.setSerializer(serializer);
+        UserMessage message = userMessage();
+        assertEquals(message, receiver.decode(serializer.serialize(message)));
+    }
+
+    private static UserMessage userMessage() {
+        UserMessage message = new UserMessage();
+        message.setMsgId("1");
+        message.setCreateStamp(System.currentTimeMillis());
+        message.setUserId("1001");
+        message.setUsername("wang");
+        message.setPassword("123456");
+        return message;
+    }
+
+}
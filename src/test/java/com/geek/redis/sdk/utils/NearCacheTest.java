@@ -0,0 +1,64 @@
+package com.geek.redis.sdk.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 13:52
+ * @version: 1.0
+ */
+public class NearCacheTest {
+
+    @Test
+    public void testHitMissAndInvalidate() {
+        NearCache cache = new NearCache(100, 60000);
+        assertNull(cache.get("user:1"));
+        cache.put("user:1", "wang", cache.stamp("user:1"));
+        cache.putField("user:2", "name", "gang", cache.stamp("user:2"));
+        assertEquals("wang", cache.get("user:1"));
+        assertEquals("gang", cache.getField("user:2", "name"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        List<String> invalidated = new ArrayList<>();
+        cache.setInvalidationListener(invalidated::add);
+        cache.invalidate("user:2");
+        cache.evict("user:1");
+        assertNull(cache.get("user:1"));
+        assertNull(cache.getField("user:2", "name"));
+        assertEquals(1, invalidated.size());
+    }
+
+    @Test
+    public void testStaleLoadIsDropped() {
+        NearCache cache = new NearCache(100, 60000);
+        long stamp = cache.stamp("user:1");
+        // 读取 Redis 期间发生了写入
+        cache.invalidate("user:1");
+        cache.put("user:1", "old", stamp);
+        assertNull(cache.get("user:1"));
+    }
+
+    @Test
+    public void testSizeAndTtlEviction() throws InterruptedException {
+        NearCache cache = new NearCache(16, 60000);
+        for (int i = 0; i < 1000; i++) {
+            String key = "k" + i;
+            cache.put(key, i, cache.stamp(key));
+        }
+        assertEquals(1000 - cache.size(), cache.getEvictionCount());
+
+        NearCache shortLived = new NearCache(16, 1);
+        shortLived.put("k", "v", shortLived.stamp("k"));
+        Thread.sleep(5);
+        assertNull(shortLived.get("k"));
+        assertEquals(1, shortLived.getEvictionCount());
+    }
+
+}
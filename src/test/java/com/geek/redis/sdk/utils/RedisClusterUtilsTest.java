@@ -0,0 +1,60 @@
+package com.geek.redis.sdk.utils;
+
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 23:55
+ * @version: 1.0
+ */
+public class RedisClusterUtilsTest {
+
+    private final RedisClusterUtils redisClusterUtils = new RedisClusterUtils();
+
+    @Before
+    public void setUp() {
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        // 带前缀的 key 序列化器，slot 必须按写出的字节计算
+        redisTemplate.setKeySerializer(new RedisSerializer<String>() {
+            @Override
+            public byte[] serialize(String key) {
+                return ("app:" + key).getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String deserialize(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8).substring(4);
+            }
+        });
+        ReflectionTestUtils.setField(redisClusterUtils, "redisTemplate", redisTemplate);
+    }
+
+    @Test
+    public void testHashTagKeepsKeysInOneSlot() {
+        String profile = RedisClusterUtils.hashTag("user:42", "profile");
+        String orders = RedisClusterUtils.hashTag("user:42", "orders");
+        assertEquals("{user:42}:profile", profile);
+        assertEquals(SlotHash.getSlot("user:42".getBytes(StandardCharsets.UTF_8)), redisClusterUtils.slot(profile));
+        assertTrue(redisClusterUtils.isSameSlot(Arrays.asList(profile, orders)));
+        // 不带 hash tag 的 key 按整个 key 计算 slot
+        assertFalse(redisClusterUtils.isSameSlot(Arrays.asList("user:42:profile", "user:42:orders")));
+    }
+
+    @Test
+    public void testSlotUsesSerializedKey() {
+        assertEquals(SlotHash.getSlot("app:user:42".getBytes(StandardCharsets.UTF_8)), redisClusterUtils.slot("user:42"));
+    }
+
+}
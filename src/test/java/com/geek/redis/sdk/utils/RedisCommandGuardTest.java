@@ -0,0 +1,78 @@
+package com.geek.redis.sdk.utils;
+
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import org.junit.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/16 23:20
+ * @version: 1.0
+ */
+public class RedisCommandGuardTest {
+
+    @Test
+    public void testPattern() {
+        assertEquals("user:*:profile", RedisCommandGuard.pattern("user:123:profile"));
+        assertEquals("queue:{jobs}:processing", RedisCommandGuard.pattern("queue:{jobs}:processing"));
+        assertEquals("order:*:", RedisCommandGuard.pattern("order:a1b2:"));
+    }
+
+    @Test
+    public void testRejectUnbounded() {
+        RedisSdkProperties.Guard options = new RedisSdkProperties.Guard();
+        options.setRejectUnbounded(true);
+        options.setRejectElements(100);
+        RedisCommandGuard guard = new RedisCommandGuard(options);
+        RedisConnection connection = mock(RedisConnection.class);
+        byte[] key = "list:1".getBytes();
+        when(connection.lLen(key)).thenReturn(1000L);
+
+        // 有界范围不查询长度
+        guard.check("lRange", new Object[]{key, 0L, 99L}, connection);
+        verify(connection, never()).lLen(key);
+        try {
+            guard.check("lRange", new Object[]{key, 0L, -1L}, connection);
+            throw new AssertionError("lRange 0 -1 on 1000 elements should be rejected");
+        } catch (InvalidDataAccessApiUsageException expected) {
+            assertTrue(expected.getMessage().contains("list:1"));
+        }
+        guard.check("lRange", new Object[]{key, -50L, -1L}, connection);
+    }
+
+    @Test
+    public void testRecordBigKey() {
+        RedisSdkProperties.Guard options = new RedisSdkProperties.Guard();
+        options.setBigKeyElements(1);
+        RedisCommandGuard guard = new RedisCommandGuard(options);
+        guard.record("sMembers", new Object[]{"tags:42".getBytes()}, Collections.nCopies(3, new byte[1]), 1000);
+
+        assertEquals(Long.valueOf(3), guard.getBigKeys().get("tags:42"));
+        assertEquals("tags:*", guard.getPatterns().get(0).getPattern());
+        assertEquals(1, guard.getPatterns().get(0).getBigCalls());
+    }
+
+    @Test
+    public void testRecordBigValueExcludesKey() {
+        RedisSdkProperties.Guard options = new RedisSdkProperties.Guard();
+        options.setBigKeyBytes(100);
+        RedisCommandGuard guard = new RedisCommandGuard(options);
+        guard.record("set", new Object[]{"session:7".getBytes(), new byte[200]}, Boolean.TRUE, 1000);
+        guard.record("get", new Object[]{"session:8".getBytes()}, new byte[10], 1000);
+
+        assertEquals(Long.valueOf(200), guard.getBigValues().get("session:7"));
+        assertEquals(1, guard.getBigValues().size());
+        assertTrue(guard.getBigKeys().isEmpty());
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.geek.redis.sdk.utils;
+
+import com.geek.redis.sdk.config.RedisSdkProperties;
+import org.junit.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 00:40
+ * @version: 1.0
+ */
+public class ReplicaReadRouterTest {
+
+    @Test
+    public void testIsInSync() {
+        Properties info = new Properties();
+        info.setProperty("role", "master");
+        info.setProperty("connected_slaves", "2");
+        info.setProperty("slave0", "ip=10.0.0.2,port=6379,state=online,offset=1024,lag=0");
+        info.setProperty("slave1", "ip=10.0.0.3,port=6379,state=wait_bgsave,offset=0,lag=9");
+        assertTrue(ReplicaReadRouter.isInSync(info, 2));
+
+        info.setProperty("slave1", "ip=10.0.0.3,port=6379,state=online,offset=512,lag=5");
+        assertFalse(ReplicaReadRouter.isInSync(info, 2));
+
+        Properties noReplicas = new Properties();
+        noReplicas.setProperty("connected_slaves", "0");
+        assertFalse(ReplicaReadRouter.isInSync(noReplicas, 2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFallbackToMaster() {
+        RedisTemplate<String, Object> master = mock(RedisTemplate.class);
+        RedisSdkProperties.ReplicaRead options = new RedisSdkProperties.ReplicaRead();
+        ReplicaReadRouter router = new ReplicaReadRouter(master, mock(LettuceConnectionFactory.class), options);
+        AtomicInteger replicaReads = new AtomicInteger();
+
+        // 不在默认分组内的读取直接读主节点
+        assertEquals("master", router.read(ReplicaReadRouter.ReadGroup.STRING, t -> t == master ? "master" : "replica"));
+
+        // 从节点连接失败时在主节点重试，冷却期内不再读从节点
+        String value = router.read(ReplicaReadRouter.ReadGroup.ZSET, t -> {
+            if (t != master) {
+                replicaReads.incrementAndGet();
+                throw new RedisConnectionFailureException("replica down");
+            }
+            return "master";
+        });
+        assertEquals("master", value);
+        assertFalse(router.isReplicaAvailable());
+        assertEquals("master", router.read(ReplicaReadRouter.ReadGroup.ZSET, t -> {
+            if (t != master) {
+                replicaReads.incrementAndGet();
+            }
+            return t == master ? "master" : "replica";
+        }));
+        assertEquals(1, replicaReads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWithPreference() {
+        RedisTemplate<String, Object> master = mock(RedisTemplate.class);
+        ReplicaReadRouter router = new ReplicaReadRouter(master, mock(LettuceConnectionFactory.class), new RedisSdkProperties.ReplicaRead());
+
+        assertEquals("replica", ReplicaReadRouter.withPreference(ReplicaReadRouter.ReadPreference.REPLICA,
+                () -> router.read(ReplicaReadRouter.ReadGroup.HASH, t -> t == master ? "master" : "replica")));
+        assertEquals("master", ReplicaReadRouter.withPreference(ReplicaReadRouter.ReadPreference.MASTER,
+                () -> router.read(ReplicaReadRouter.ReadGroup.ZSET, t -> t == master ? "master" : "replica")));
+    }
+
+}
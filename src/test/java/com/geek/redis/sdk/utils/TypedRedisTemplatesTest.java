@@ -0,0 +1,52 @@
+package com.geek.redis.sdk.utils;
+
+import com.geek.redis.sdk.bean.GoodsMessage;
+import com.geek.redis.sdk.bean.RedisMessage;
+import com.geek.redis.sdk.bean.UserMessage;
+import com.geek.redis.sdk.config.RedisMessageCodecs;
+import com.geek.redis.sdk.config.TypedJsonRedisSerializer;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author: Geek Wang
+ * @createDate: 2026/10/17 02:40
+ * @version: 1.0
+ */
+public class TypedRedisTemplatesTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLongestPrefixWins() {
+        StringRedisSerializer keySerializer = new StringRedisSerializer();
+        TypedRedisTemplates templates = new TypedRedisTemplates(mock(RedisConnectionFactory.class), keySerializer, keySerializer, RedisMessageCodecs.typeIds(), null);
+        RedisTemplate<String, RedisMessage> messages = templates.register("msg:", RedisMessage.class);
+        RedisTemplate<String, GoodsMessage> goods = templates.register("msg:goods:", GoodsMessage.class);
+
+        assertSame(goods, templates.forKey("msg:goods:1"));
+        assertSame(messages, templates.forKey("msg:user:1"));
+        assertSame(keySerializer, messages.getKeySerializer());
+        TypedJsonRedisSerializer<RedisMessage> serializer = (TypedJsonRedisSerializer<RedisMessage>) messages.getValueSerializer();
+        assertEquals(RedisMessage.class, serializer.getType());
+
+        // 基类模板按类型 id 写入子类
+        UserMessage user = new UserMessage();
+        user.setUserId("42");
+        byte[] bytes = serializer.serialize(user);
+        assertEquals(TypedJsonRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(user, serializer.deserialize(bytes));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnboundKey() {
+        StringRedisSerializer keySerializer = new StringRedisSerializer();
+        new TypedRedisTemplates(mock(RedisConnectionFactory.class), keySerializer, keySerializer, RedisMessageCodecs.typeIds(), null).forKey("user:1");
+    }
+
+}